@@ -0,0 +1,305 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.ref.Reference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Minimal benchmark harness that measures the average time per operation in a number of warmup and measurement
+ * iterations and writes the results in the JSON layout of JMH, so the results of both can be compared by the same
+ * tools. Besides the average, the latency percentiles, the throughput and the allocations per operation are
+ * reported.
+ * <p>
+ * Every iteration runs the operation until {@link #ITERATION_TIME_PROPERTY} milliseconds have passed, but at least
+ * once. The number of iterations is configured with {@link #WARMUP_ITERATIONS_PROPERTY} and
+ * {@link #MEASUREMENT_ITERATIONS_PROPERTY}.
+ * </p>
+ * <p>
+ * Heap benchmarks report the heap retained by the result of an operation instead, see
+ * {@link #measureHeap(String, Map, Supplier)}.
+ * </p>
+ * <p>
+ * Unlike JMH, the runner does not fork: all benchmarks of a main class run in one JVM, so the JIT profiles of earlier
+ * benchmarks influence later ones and results are only comparable for the same benchmark order. There is no
+ * blackhole either, the results of the operations are discarded. The measured operations are large or modify shared
+ * state, small operations may be removed by the JIT and report too low numbers. Each operation is timed with {@link System#nanoTime()}, which makes the numbers unreliable for operations
+ * below a few microseconds.
+ * </p>
+ * <p>
+ * The allocations are not measured by the GC profiler of JMH ({@code -prof gc}) but with the allocation counter of
+ * the benchmark thread ({@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}). They are reported with the
+ * names of the profiler, {@code gc.alloc.rate} and {@code gc.alloc.rate.norm}, but do not include allocations of
+ * other threads, e.g. of notifications sent asynchronously. They are omitted if the JVM does not support the counter.
+ * </p>
+ */
+public class BenchmarkRunner {
+
+   private static Logger LOGGER = Logger.getLogger(BenchmarkRunner.class.getSimpleName());
+
+   public static final String WARMUP_ITERATIONS_PROPERTY = "benchmark.warmupIterations";
+   public static final String MEASUREMENT_ITERATIONS_PROPERTY = "benchmark.measurementIterations";
+   public static final String ITERATION_TIME_PROPERTY = "benchmark.iterationTime";
+
+   private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+   private static final MemoryMXBean MEMORY_BEAN = ManagementFactory.getMemoryMXBean();
+   private static final int MAX_GC_RUNS = 10;
+   // com.sun.management.ThreadMXBean is not part of the execution environment, so it is looked up reflectively
+   private static final Method ALLOCATED_BYTES = findAllocatedBytesMethod();
+
+   private final int warmupIterations;
+   private final int measurementIterations;
+   private final long iterationNanos;
+   private final List<Map<String, Object>> results = new ArrayList<>();
+
+   public BenchmarkRunner() {
+      this(Integer.getInteger(WARMUP_ITERATIONS_PROPERTY, 3), Integer.getInteger(MEASUREMENT_ITERATIONS_PROPERTY, 5),
+         Long.getLong(ITERATION_TIME_PROPERTY, 1000));
+   }
+
+   public BenchmarkRunner(final int warmupIterations, final int measurementIterations, final long iterationMillis) {
+      this.warmupIterations = warmupIterations;
+      this.measurementIterations = measurementIterations;
+      this.iterationNanos = TimeUnit.MILLISECONDS.toNanos(iterationMillis);
+   }
+
+   /**
+    * Measures the given operation and records the result.
+    *
+    * @param benchmark the name of the benchmark
+    * @param params    the parameters of the benchmark, e.g. the size of the model
+    * @param operation the measured operation
+    */
+   public void run(final String benchmark, final Map<String, Object> params, final Runnable operation) {
+      run(benchmark, params, operation, null);
+   }
+
+   /**
+    * Measures the given operation and records the result. The teardown is run after every operation but is not
+    * measured, e.g. to undo a command before it is executed again.
+    */
+   public void run(final String benchmark, final Map<String, Object> params, final Runnable operation,
+      final Runnable teardown) {
+      for (int i = 0; i < warmupIterations; i++) {
+         runIteration(operation, teardown, new Samples());
+      }
+      Samples samples = new Samples();
+      List<Double> rawData = new ArrayList<>();
+      for (int i = 0; i < measurementIterations; i++) {
+         rawData.add(runIteration(operation, teardown, samples));
+      }
+      double score = rawData.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+      double variance = rawData.stream().mapToDouble(value -> (value - score) * (value - score)).sum()
+         / Math.max(1, rawData.size() - 1);
+
+      Map<String, Object> primaryMetric = new LinkedHashMap<>();
+      primaryMetric.put("score", score);
+      primaryMetric.put("scoreError", Math.sqrt(variance));
+      primaryMetric.put("scoreUnit", "ms/op");
+      primaryMetric.put("scorePercentiles", samples.getPercentiles());
+      primaryMetric.put("rawData", List.of(rawData));
+
+      Map<String, Object> secondaryMetrics = new LinkedHashMap<>();
+      secondaryMetrics.put("\u00b7throughput", metric(samples.getThroughput(), "ops/s"));
+      if (samples.allocatedBytes >= 0) {
+         secondaryMetrics.put("\u00b7gc.alloc.rate", metric(samples.getAllocationRate(), "MB/sec"));
+         secondaryMetrics.put("\u00b7gc.alloc.rate.norm", metric(samples.getAllocationPerOperation(), "B/op"));
+      }
+
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("benchmark", benchmark);
+      result.put("mode", "avgt");
+      result.put("warmupIterations", warmupIterations);
+      result.put("measurementIterations", measurementIterations);
+      result.put("params", params);
+      result.put("primaryMetric", primaryMetric);
+      result.put("secondaryMetrics", secondaryMetrics);
+      results.add(result);
+      LOGGER.info(String.format("%s %s: %.3f ms/op, p99 %.3f ms", benchmark, params, score,
+         samples.getPercentile(0.99)));
+   }
+
+   /**
+    * Measures the heap retained by the object the allocation returns, as difference of the used heap after a full
+    * garbage collection before and after the allocation. The allocation is repeated in every warmup and measurement
+    * iteration, the score is the average of the measurement iterations in bytes.
+    */
+   public void measureHeap(final String benchmark, final Map<String, Object> params, final Supplier<?> allocation) {
+      List<Double> rawData = new ArrayList<>();
+      for (int i = 0; i < warmupIterations + measurementIterations; i++) {
+         long before = getUsedHeapAfterGc();
+         Object retained = allocation.get();
+         long after = getUsedHeapAfterGc();
+         Reference.reachabilityFence(retained);
+         if (i >= warmupIterations) {
+            rawData.add((double) (after - before));
+         }
+      }
+      double score = rawData.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+
+      Map<String, Object> primaryMetric = new LinkedHashMap<>();
+      primaryMetric.put("score", score);
+      primaryMetric.put("scoreError", rawData.stream().mapToDouble(Double::doubleValue).max().orElse(Double.NaN)
+         - rawData.stream().mapToDouble(Double::doubleValue).min().orElse(Double.NaN));
+      primaryMetric.put("scoreUnit", "B");
+      primaryMetric.put("rawData", List.of(rawData));
+
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("benchmark", benchmark);
+      result.put("mode", "ss");
+      result.put("warmupIterations", warmupIterations);
+      result.put("measurementIterations", measurementIterations);
+      result.put("params", params);
+      result.put("primaryMetric", primaryMetric);
+      results.add(result);
+      LOGGER.info(String.format("%s %s: %.0f bytes retained", benchmark, params, score));
+   }
+
+   // runs the garbage collector until the used heap does not shrink anymore
+   protected static long getUsedHeapAfterGc() {
+      long used = Long.MAX_VALUE;
+      for (int i = 0; i < MAX_GC_RUNS; i++) {
+         System.gc();
+         long current = MEMORY_BEAN.getHeapMemoryUsage().getUsed();
+         if (current >= used) {
+            return current;
+         }
+         used = current;
+      }
+      return used;
+   }
+
+   // returns the average milliseconds per operation
+   protected double runIteration(final Runnable operation, final Runnable teardown, final Samples samples) {
+      long start = System.nanoTime();
+      long measured = 0;
+      int operations = 0;
+      do {
+         long allocatedBefore = getAllocatedBytes();
+         long operationStart = System.nanoTime();
+         operation.run();
+         long duration = System.nanoTime() - operationStart;
+         long allocatedAfter = getAllocatedBytes();
+         samples.add(duration, allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore);
+         measured += duration;
+         operations++;
+         if (teardown != null) {
+            teardown.run();
+         }
+      } while (System.nanoTime() - start < iterationNanos);
+      return measured / (double) operations / TimeUnit.MILLISECONDS.toNanos(1);
+   }
+
+   protected static Map<String, Object> metric(final double score, final String unit) {
+      Map<String, Object> metric = new LinkedHashMap<>();
+      metric.put("score", score);
+      metric.put("scoreUnit", unit);
+      return metric;
+   }
+
+   // the allocation counter of the current thread, or -1 if the JVM does not provide one
+   protected static long getAllocatedBytes() {
+      if (ALLOCATED_BYTES == null) {
+         return -1;
+      }
+      try {
+         return (long) ALLOCATED_BYTES.invoke(THREAD_BEAN, Thread.currentThread().getId());
+      } catch (ReflectiveOperationException e) {
+         return -1;
+      }
+   }
+
+   private static Method findAllocatedBytesMethod() {
+      try {
+         return Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+      } catch (ReflectiveOperationException e) {
+         LOGGER.warn("Allocations are not measured: " + e.getMessage());
+         return null;
+      }
+   }
+
+   /**
+    * The latencies and allocations of all measured operations of a benchmark.
+    */
+   protected static class Samples {
+      private long[] latencies = new long[1024];
+      private int count;
+      private long totalNanos;
+      private long allocatedBytes;
+
+      void add(final long latency, final long allocated) {
+         if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+         }
+         latencies[count++] = latency;
+         totalNanos += latency;
+         allocatedBytes = allocated < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + allocated;
+      }
+
+      double getPercentile(final double percentile) {
+         if (count == 0) {
+            return Double.NaN;
+         }
+         long[] sorted = Arrays.copyOf(latencies, count);
+         Arrays.sort(sorted);
+         int index = (int) Math.min(count - 1, Math.ceil(percentile * count) - 1);
+         return sorted[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+      }
+
+      Map<String, Double> getPercentiles() {
+         Map<String, Double> percentiles = new LinkedHashMap<>();
+         for (double percentile : new double[] { 0.0, 0.5, 0.9, 0.99, 0.999, 1.0 }) {
+            percentiles.put(String.valueOf(percentile * 100), getPercentile(percentile));
+         }
+         return percentiles;
+      }
+
+      int getCount() { return count; }
+
+      double getThroughput() { return count / (totalNanos / (double) TimeUnit.SECONDS.toNanos(1)); }
+
+      double getAllocationPerOperation() { return allocatedBytes / (double) count; }
+
+      double getAllocationRate() {
+         return allocatedBytes / (1024.0 * 1024.0) / (totalNanos / (double) TimeUnit.SECONDS.toNanos(1));
+      }
+   }
+
+   public List<Map<String, Object>> getResults() { return results; }
+
+   /**
+    * Writes the results of all benchmarks that have been run so far as JSON array to the given file.
+    */
+   public void writeResults(final File file) throws IOException {
+      if (file.getParentFile() != null) {
+         file.getParentFile().mkdirs();
+      }
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, results);
+   }
+
+}
@@ -0,0 +1,144 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
+import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
+import org.eclipse.uml2.uml.resource.UMLResource;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+
+import com.eclipsesource.uml.modelserver.UmlCodec;
+import com.eclipsesource.uml.modelserver.unotation.Representation;
+
+/**
+ * Benchmarks of the XMI encoding and decoding of the {@link UmlCodec} for payloads of a given size.
+ * <p>
+ * The payload sizes in MB are configured with {@value #PAYLOAD_SIZES_PROPERTY} (comma separated). For every size a
+ * synthetic use case model is built whose encoded payload has about that size. Decoding is compared with the plain
+ * load of the payload bytes by a UML resource, the way payloads were decoded before. The results are written to the
+ * file given as first argument.
+ * </p>
+ */
+public class CodecBenchmarks {
+
+   public static final String PAYLOAD_SIZES_PROPERTY = "benchmark.payloadSizes";
+
+   private static final int BYTES_PER_MB = 1024 * 1024;
+   private static final int SAMPLE_ELEMENTS = 1000;
+
+   private final BenchmarkRunner runner;
+   private final UmlCodec codec = new UmlCodec();
+
+   public CodecBenchmarks(final BenchmarkRunner runner) {
+      this.runner = runner;
+   }
+
+   public static void main(final String[] args) throws IOException {
+      BenchmarkRunner runner = new BenchmarkRunner();
+      CodecBenchmarks benchmarks = new CodecBenchmarks(runner);
+      for (int payloadSize : getPayloadSizes()) {
+         benchmarks.run(payloadSize);
+      }
+      runner.writeResults(new File(args.length > 0 ? args[0] : "target/benchmarks/codec.json"));
+   }
+
+   public static List<Integer> getPayloadSizes() {
+      return Arrays.stream(System.getProperty(PAYLOAD_SIZES_PROPERTY, "1,10,50").split(","))
+         .map(String::trim)
+         .map(Integer::valueOf)
+         .collect(Collectors.toList());
+   }
+
+   public void run(final int payloadSize) {
+      int elements = getElementsForPayload(payloadSize);
+      SyntheticUmlModel model = SyntheticUmlModel.builder(Representation.USECASE).elements(elements).build();
+      String payload = encode(model);
+
+      Map<String, Object> params = new LinkedHashMap<>();
+      params.put("payloadSize", payloadSize);
+      params.put("payloadMB", (double) payload.getBytes(StandardCharsets.UTF_8).length / BYTES_PER_MB);
+      params.put("elements", elements);
+
+      runner.run("UmlCodec.encode", params, () -> encode(model));
+      runner.run("UmlCodec.decode", params, () -> decode(payload));
+      runner.run("UMLResource.load", params, () -> load(payload));
+   }
+
+   /**
+    * Estimates the number of elements of a synthetic use case model whose XMI has the given size in MB from the
+    * payload of a small model, the payload grows linearly with the model.
+    */
+   public static int getElementsForPayload(final int payloadSize) {
+      SyntheticUmlModel sample = SyntheticUmlModel.builder(Representation.USECASE).elements(SAMPLE_ELEMENTS).build();
+      double bytesPerElement = (double) encode(new UmlCodec(), sample).getBytes(StandardCharsets.UTF_8).length
+         / SAMPLE_ELEMENTS;
+      return Math.max(1, (int) Math.round(payloadSize * BYTES_PER_MB / bytesPerElement));
+   }
+
+   protected String encode(final SyntheticUmlModel model) {
+      return encode(codec, model);
+   }
+
+   protected static String encode(final UmlCodec codec, final SyntheticUmlModel model) {
+      try {
+         return codec.encode(model.getUmlModel()).asText();
+      } catch (EncodingException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   protected Resource decode(final String payload) {
+      try {
+         return codec.decode(createResourceSet(), "virtual.uml", null, payload)
+            .orElseThrow(() -> new IllegalStateException("Payload could not be decoded"));
+      } catch (DecodingException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   /**
+    * Baseline of the decoding, loads the bytes of the payload with the default load options.
+    */
+   protected static Resource load(final String payload) {
+      ResourceSet resourceSet = createResourceSet();
+      Resource resource = UMLResource.Factory.INSTANCE.createResource(URI.createURI("virtual.uml"));
+      resourceSet.getResources().add(resource);
+      try {
+         resource.load(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)),
+            resourceSet.getLoadOptions());
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+      return resource;
+   }
+
+   protected static ResourceSet createResourceSet() {
+      ResourceSet resourceSet = new ResourceSetImpl();
+      UMLResourcesUtil.init(resourceSet);
+      return resourceSet;
+   }
+
+}
@@ -0,0 +1,235 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.command.CommandStack;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.edit.domain.EditingDomain;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emfcloud.modelserver.command.CCommand;
+import org.eclipse.emfcloud.modelserver.command.CCommandFactory;
+import org.eclipse.emfcloud.modelserver.command.CCompoundCommand;
+import org.eclipse.emfcloud.modelserver.edit.CommandContribution;
+import org.eclipse.glsp.graph.util.GraphUtil;
+import org.eclipse.uml2.uml.Actor;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Package;
+import org.eclipse.uml2.uml.UseCase;
+
+import com.eclipsesource.uml.modelserver.commands.contributions.AddActorCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.AddPackageCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.AddUsecaseCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.ChangeBoundsCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.RemoveActorCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.RemovePackageCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.RemoveUsecaseCommandContribution;
+import com.eclipsesource.uml.modelserver.unotation.Representation;
+import com.eclipsesource.uml.modelserver.unotation.Shape;
+
+/**
+ * Benchmarks of the command execution of the model server. The commands are created from the same CCommands the GLSP
+ * server sends, decoded by the command contributions registered in the UmlModelServerModule and executed on the
+ * command stack of an in-process editing domain, without the HTTP layer.
+ * <p>
+ * Besides adding and removing elements, the benchmarks cover changing the bounds of a large selection
+ * ({@value #SELECTION_PROPERTY} shapes), undo, redo and saving the model. The model sizes are configured with
+ * {@value GModelBenchmarks#ELEMENTS_PROPERTY}, the results are written to the file given as first argument.
+ * </p>
+ */
+public class CommandBenchmarks {
+
+   public static final String SELECTION_PROPERTY = "benchmark.selection";
+
+   private final BenchmarkRunner runner;
+   private final Random random = new Random(42);
+   private final Map<Class<?>, Method> toServerMethods = new LinkedHashMap<>();
+
+   private URI modelUri;
+   private EditingDomain domain;
+   private Map<String, Object> params;
+
+   public CommandBenchmarks(final BenchmarkRunner runner) {
+      this.runner = runner;
+   }
+
+   public static void main(final String[] args) throws IOException {
+      BenchmarkRunner runner = new BenchmarkRunner();
+      CommandBenchmarks benchmarks = new CommandBenchmarks(runner);
+      for (int elements : GModelBenchmarks.getElements()) {
+         benchmarks.run(elements, Integer.getInteger(SELECTION_PROPERTY, 1000));
+      }
+      runner.writeResults(new File(args.length > 0 ? args[0] : "target/benchmarks/commands.json"));
+   }
+
+   public void run(final int elements, final int selection) throws IOException {
+      SyntheticUmlModel model = SyntheticUmlModel.builder(Representation.USECASE).elements(elements).build();
+      modelUri = model.getUmlModel().eResource().getURI();
+      // the commands are recording commands that require a transactional editing domain like the model server has
+      domain = TransactionalEditingDomain.Factory.INSTANCE.createEditingDomain(model.getResourceSet());
+      params = new LinkedHashMap<>();
+      params.put("elements", elements);
+
+      Model umlModel = model.getUmlModel();
+      List<UseCase> useCases = getTopLevel(umlModel, UseCase.class);
+      List<Actor> actors = getTopLevel(umlModel, Actor.class);
+      List<Package> packages = getTopLevel(umlModel, Package.class);
+
+      runCommand("AddUsecase", new AddUsecaseCommandContribution(),
+         () -> AddUsecaseCommandContribution.create(GraphUtil.point(10, 10)));
+      runCommand("AddActor", new AddActorCommandContribution(),
+         () -> AddActorCommandContribution.create(GraphUtil.point(10, 10)));
+      runCommand("AddPackage", new AddPackageCommandContribution(),
+         () -> AddPackageCommandContribution.create(GraphUtil.point(10, 10)));
+      if (!useCases.isEmpty()) {
+         runCommand("RemoveUsecase", new RemoveUsecaseCommandContribution(),
+            () -> RemoveUsecaseCommandContribution.create(fragment(pick(useCases))));
+      }
+      if (!actors.isEmpty()) {
+         runCommand("RemoveActor", new RemoveActorCommandContribution(),
+            () -> RemoveActorCommandContribution.create(fragment(pick(actors))));
+      }
+      if (!packages.isEmpty()) {
+         runCommand("RemovePackage", new RemovePackageCommandContribution(),
+            () -> RemovePackageCommandContribution.create(fragment(pick(packages))));
+      }
+
+      List<Shape> shapes = model.getDiagram().getElements().stream()
+         .filter(Shape.class::isInstance)
+         .map(Shape.class::cast)
+         .limit(selection)
+         .collect(Collectors.toList());
+      Map<String, Object> selectionParams = new LinkedHashMap<>(params);
+      selectionParams.put("selection", shapes.size());
+      Supplier<CCommand> changeBounds = () -> createChangeBounds(shapes);
+      runCommand("ChangeBounds", selectionParams, new ChangeBoundsCommandContribution(), changeBounds);
+
+      CommandStack commandStack = domain.getCommandStack();
+      commandStack.execute(toServer(new ChangeBoundsCommandContribution(), changeBounds.get()));
+      runner.run("Undo.ChangeBounds", selectionParams, commandStack::undo, commandStack::redo);
+      commandStack.undo();
+      runner.run("Redo.ChangeBounds", selectionParams, commandStack::redo, commandStack::undo);
+
+      Path directory = Files.createTempDirectory("uml-benchmark");
+      runner.run("Save", params, () -> {
+         for (Resource resource : model.getResourceSet().getResources()) {
+            save(resource, directory.resolve(resource.getURI().lastSegment()));
+         }
+      });
+   }
+
+   /**
+    * Measures the decoding of the command by the contribution and its execution, the command is undone after every
+    * execution.
+    */
+   protected void runCommand(final String type, final CommandContribution contribution,
+      final Supplier<CCommand> command) {
+      runCommand(type, params, contribution, command);
+   }
+
+   protected void runCommand(final String type, final Map<String, Object> commandParams,
+      final CommandContribution contribution, final Supplier<CCommand> command) {
+      CommandStack commandStack = domain.getCommandStack();
+      runner.run(type + ".toServer", commandParams, () -> toServer(contribution, command.get()));
+      runner.run(type + ".execute", commandParams,
+         () -> commandStack.execute(toServer(contribution, command.get())), commandStack::undo);
+   }
+
+   protected CCommand createChangeBounds(final List<Shape> shapes) {
+      CCompoundCommand compoundCommand = CCommandFactory.eINSTANCE.createCompoundCommand();
+      compoundCommand.setType(ChangeBoundsCommandContribution.TYPE);
+      int offset = random.nextInt(100);
+      for (Shape shape : shapes) {
+         compoundCommand.getCommands().add(ChangeBoundsCommandContribution.create(shape.getSemanticElement().getUri(),
+            GraphUtil.point(shape.getPosition().getX() + offset, shape.getPosition().getY() + offset),
+            GraphUtil.dimension(shape.getSize().getWidth(), shape.getSize().getHeight())));
+      }
+      return compoundCommand;
+   }
+
+   /**
+    * Decodes the command with the given contribution like the model server does when a command is received.
+    */
+   protected Command toServer(final CommandContribution contribution, final CCommand command) {
+      try {
+         return (Command) getToServerMethod(contribution.getClass()).invoke(contribution, modelUri, domain, command);
+      } catch (InvocationTargetException e) {
+         throw new IllegalStateException(e.getCause());
+      } catch (ReflectiveOperationException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   // toServer is only called by the model server itself and therefore not public, it is declared by the base classes
+   // of the contributions
+   protected Method getToServerMethod(final Class<?> contributionClass) throws NoSuchMethodException {
+      Method method = toServerMethods.get(contributionClass);
+      if (method == null) {
+         method = findDeclaredMethod(contributionClass, "toServer", URI.class, EditingDomain.class, CCommand.class);
+         method.setAccessible(true);
+         toServerMethods.put(contributionClass, method);
+      }
+      return method;
+   }
+
+   protected static Method findDeclaredMethod(final Class<?> type, final String name, final Class<?>... parameterTypes)
+      throws NoSuchMethodException {
+      for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+         try {
+            return current.getDeclaredMethod(name, parameterTypes);
+         } catch (NoSuchMethodException e) {
+            // continue with the superclass
+         }
+      }
+      throw new NoSuchMethodException(type.getName() + "." + name);
+   }
+
+   protected static void save(final Resource resource, final Path file) {
+      try (OutputStream outputStream = Files.newOutputStream(file)) {
+         resource.save(outputStream, null);
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   protected static <T extends EObject> List<T> getTopLevel(final Model umlModel, final Class<T> type) {
+      return umlModel.getPackagedElements().stream()
+         .filter(type::isInstance)
+         .map(type::cast)
+         .collect(Collectors.toList());
+   }
+
+   protected <T> T pick(final List<T> elements) {
+      return elements.get(random.nextInt(elements.size()));
+   }
+
+   protected static String fragment(final EObject element) {
+      return element.eResource().getURIFragment(element);
+   }
+
+}
@@ -0,0 +1,317 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Headless GLSP client that talks JSON-RPC to the GLSP server over a socket like the diagram client does.
+ * <p>
+ * The client answers the bounds requests of the server with the bounds of the model, so every model update completes
+ * the same round-trip as in the browser. Received model updates are queued and can be awaited with
+ * {@link #awaitModel(long)}.
+ * </p>
+ */
+public class GLSPLoadClient implements AutoCloseable {
+
+   private static Logger LOGGER = Logger.getLogger(GLSPLoadClient.class.getSimpleName());
+
+   private static final String CONTENT_LENGTH = "Content-Length: ";
+   private static final double DEFAULT_WIDTH = 160;
+   private static final double DEFAULT_HEIGHT = 80;
+
+   private final String clientId;
+   private final Socket socket;
+   private final OutputStream outputStream;
+   private final ObjectMapper mapper = new ObjectMapper();
+   private final AtomicInteger ids = new AtomicInteger();
+   private final Map<Integer, CompletableFuture<JsonNode>> pendingRequests = new ConcurrentHashMap<>();
+   private final BlockingQueue<JsonNode> models = new LinkedBlockingQueue<>();
+   private final Thread reader;
+   private volatile JsonNode root;
+
+   public GLSPLoadClient(final String clientId, final String host, final int port) throws IOException {
+      this.clientId = clientId;
+      this.socket = new Socket(host, port);
+      this.outputStream = socket.getOutputStream();
+      this.reader = new Thread(this::readMessages, "glsp-load-client-" + clientId);
+      reader.setDaemon(true);
+      reader.start();
+   }
+
+   /**
+    * Initializes the server connection with the model server of the given url.
+    */
+   public void initialize(final String modelServerUrl, final long timeoutMillis) throws Exception {
+      ObjectNode params = mapper.createObjectNode();
+      params.put("applicationId", "uml-load-test");
+      params.putObject("options").put("modelServerURL", modelServerUrl);
+      request("initialize", params).get(timeoutMillis, TimeUnit.MILLISECONDS);
+   }
+
+   public void requestModel(final String sourceUri, final String workspaceRoot, final String diagramType) {
+      ObjectNode action = action("requestModel");
+      action.put("requestId", clientId + "_" + ids.incrementAndGet());
+      ObjectNode options = action.putObject("options");
+      options.put("sourceUri", sourceUri);
+      options.put("workspaceRoot", workspaceRoot);
+      options.put("diagramType", diagramType);
+      process(action);
+   }
+
+   public void createNode(final String elementTypeId, final double x, final double y) {
+      ObjectNode operation = action("createNode");
+      operation.put("elementTypeId", elementTypeId);
+      operation.putObject("location").put("x", x).put("y", y);
+      process(operation);
+   }
+
+   public void changeBounds(final JsonNode node, final double dx, final double dy) {
+      ObjectNode operation = action("changeBounds");
+      ObjectNode bounds = operation.putArray("newBounds").addObject();
+      bounds.put("elementId", node.path("id").asText());
+      JsonNode position = node.path("position");
+      bounds.putObject("newPosition").put("x", position.path("x").asDouble() + dx)
+         .put("y", position.path("y").asDouble() + dy);
+      JsonNode size = node.path("size");
+      bounds.putObject("newSize").put("width", size.path("width").asDouble(DEFAULT_WIDTH))
+         .put("height", size.path("height").asDouble(DEFAULT_HEIGHT));
+      process(operation);
+   }
+
+   public void delete(final String elementId) {
+      ObjectNode operation = action("deleteElement");
+      operation.putArray("elementIds").add(elementId);
+      process(operation);
+   }
+
+   public void undo() {
+      process(action("glspUndo"));
+   }
+
+   public void redo() {
+      process(action("glspRedo"));
+   }
+
+   /**
+    * Waits for the next model that is set or updated by the server.
+    *
+    * @return the new model root or null if no model was received within the timeout
+    */
+   public JsonNode awaitModel(final long timeoutMillis) throws InterruptedException {
+      return models.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Discards the models that have been received but not awaited, e.g. updates caused by other clients.
+    */
+   public void clearModels() {
+      models.clear();
+   }
+
+   /**
+    * Returns the top-level nodes of the current model with one of the given types.
+    */
+   public List<JsonNode> getNodes(final String... types) {
+      List<JsonNode> nodes = new ArrayList<>();
+      JsonNode currentRoot = root;
+      if (currentRoot == null) {
+         return nodes;
+      }
+      for (JsonNode child : currentRoot.path("children")) {
+         String type = child.path("type").asText();
+         for (String nodeType : types) {
+            if (nodeType.equals(type)) {
+               nodes.add(child);
+            }
+         }
+      }
+      return nodes;
+   }
+
+   public String getClientId() { return clientId; }
+
+   protected ObjectNode action(final String kind) {
+      ObjectNode action = mapper.createObjectNode();
+      action.put("kind", kind);
+      return action;
+   }
+
+   protected void process(final ObjectNode action) {
+      ObjectNode params = mapper.createObjectNode();
+      params.put("clientId", clientId);
+      params.set("action", action);
+      ObjectNode message = mapper.createObjectNode();
+      message.put("jsonrpc", "2.0");
+      message.put("method", "process");
+      message.set("params", params);
+      send(message);
+   }
+
+   protected CompletableFuture<JsonNode> request(final String method, final JsonNode params) {
+      int id = ids.incrementAndGet();
+      CompletableFuture<JsonNode> result = new CompletableFuture<>();
+      pendingRequests.put(id, result);
+      ObjectNode message = mapper.createObjectNode();
+      message.put("jsonrpc", "2.0");
+      message.put("id", id);
+      message.put("method", method);
+      message.set("params", params);
+      send(message);
+      return result;
+   }
+
+   protected synchronized void send(final JsonNode message) {
+      try {
+         byte[] content = mapper.writeValueAsBytes(message);
+         outputStream.write((CONTENT_LENGTH + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+         outputStream.write(content);
+         outputStream.flush();
+      } catch (IOException e) {
+         throw new IllegalStateException("Could not send message to the GLSP server", e);
+      }
+   }
+
+   protected void readMessages() {
+      try (InputStream inputStream = new BufferedInputStream(socket.getInputStream())) {
+         while (!socket.isClosed()) {
+            int contentLength = readHeaders(inputStream);
+            if (contentLength < 0) {
+               return;
+            }
+            handleMessage(mapper.readTree(inputStream.readNBytes(contentLength)));
+         }
+      } catch (IOException e) {
+         if (!socket.isClosed()) {
+            LOGGER.error("Connection of client " + clientId + " failed", e);
+         }
+      }
+   }
+
+   // returns the content length of the next message or -1 at the end of the stream
+   protected int readHeaders(final InputStream inputStream) throws IOException {
+      int contentLength = -1;
+      ByteArrayOutputStream line = new ByteArrayOutputStream();
+      int next;
+      while ((next = inputStream.read()) >= 0) {
+         if (next == '\n') {
+            String header = line.toString(StandardCharsets.US_ASCII).trim();
+            if (header.isEmpty()) {
+               return contentLength;
+            }
+            if (header.startsWith(CONTENT_LENGTH)) {
+               contentLength = Integer.parseInt(header.substring(CONTENT_LENGTH.length()).trim());
+            }
+            line.reset();
+         } else {
+            line.write(next);
+         }
+      }
+      return -1;
+   }
+
+   protected void handleMessage(final JsonNode message) {
+      if (message.has("id") && !message.has("method")) {
+         CompletableFuture<JsonNode> result = pendingRequests.remove(message.path("id").asInt());
+         if (result != null) {
+            if (message.has("error")) {
+               result.completeExceptionally(new IllegalStateException(message.path("error").toString()));
+            } else {
+               result.complete(message.path("result"));
+            }
+         }
+         return;
+      }
+      if ("process".equals(message.path("method").asText())) {
+         handleAction(message.path("params").path("action"));
+      }
+   }
+
+   protected void handleAction(final JsonNode action) {
+      switch (action.path("kind").asText()) {
+         case "requestBounds":
+            process(computeBounds(action));
+            break;
+         case "setModel":
+         case "updateModel":
+            root = action.path("newRoot");
+            models.add(root);
+            break;
+         default:
+            break;
+      }
+   }
+
+   /**
+    * Answers a bounds request with the bounds that are already in the model, elements without bounds get a default
+    * size like a client would compute for short labels.
+    */
+   protected ObjectNode computeBounds(final JsonNode requestBounds) {
+      JsonNode newRoot = requestBounds.path("newRoot");
+      ObjectNode computedBounds = action("computedBounds");
+      if (requestBounds.has("requestId")) {
+         computedBounds.put("responseId", requestBounds.path("requestId").asText());
+      }
+      computedBounds.put("revision", newRoot.path("revision").asInt());
+      collectBounds(newRoot.path("children"), computedBounds.putArray("bounds"));
+      return computedBounds;
+   }
+
+   protected void collectBounds(final JsonNode children, final ArrayNode bounds) {
+      for (JsonNode child : children) {
+         if (!child.path("type").asText().startsWith("edge")) {
+            ObjectNode elementBounds = bounds.addObject();
+            elementBounds.put("elementId", child.path("id").asText());
+            JsonNode size = child.path("size");
+            elementBounds.putObject("newSize").put("width", positive(size.path("width"), DEFAULT_WIDTH))
+               .put("height", positive(size.path("height"), DEFAULT_HEIGHT));
+            JsonNode position = child.path("position");
+            elementBounds.putObject("newPosition").put("x", position.path("x").asDouble())
+               .put("y", position.path("y").asDouble());
+         }
+         collectBounds(child.path("children"), bounds);
+      }
+   }
+
+   protected static double positive(final JsonNode value, final double defaultValue) {
+      double result = value.asDouble(-1);
+      return result > 0 ? result : defaultValue;
+   }
+
+   @Override
+   public void close() throws IOException {
+      process(action("disposeClientSession"));
+      socket.close();
+   }
+
+}
@@ -0,0 +1,170 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.glsp.graph.GraphFactory;
+
+import com.eclipsesource.uml.glsp.gmodel.GModelFactory;
+import com.eclipsesource.uml.glsp.gmodel.UmlClassDiagramModelFactory;
+import com.eclipsesource.uml.glsp.gmodel.UmlUseCaseDiagramModelFactory;
+import com.eclipsesource.uml.glsp.model.UmlFacade;
+import com.eclipsesource.uml.glsp.model.UmlModelIndex;
+import com.eclipsesource.uml.glsp.model.UmlModelState;
+import com.eclipsesource.uml.modelserver.UmlModelGenerator;
+import com.eclipsesource.uml.modelserver.unotation.Diagram;
+import com.eclipsesource.uml.modelserver.unotation.NotationElement;
+import com.eclipsesource.uml.modelserver.unotation.Representation;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+
+/**
+ * Benchmarks of the GModel generation of the GLSP server on synthetic models, see {@link SyntheticUmlModel}.
+ * <p>
+ * The model sizes, the package nesting depth and the relationship density are configured with the system properties
+ * {@value #ELEMENTS_PROPERTY} (comma separated), {@value #PACKAGE_DEPTH_PROPERTY} and
+ * {@value #RELATIONSHIP_DENSITY_PROPERTY}. With {@value #GENERATOR_PROPERTY} the models are created by the
+ * {@link UmlModelGenerator} instead. The results are written to the file given as first argument.
+ * </p>
+ * <p>
+ * Besides the time, the heap retained by the model index is measured and compared with an index of two
+ * {@link HashBiMap HashBiMaps}, the data structure the index used before.
+ * </p>
+ */
+public class GModelBenchmarks {
+
+   public static final String ELEMENTS_PROPERTY = "benchmark.elements";
+   public static final String PACKAGE_DEPTH_PROPERTY = "benchmark.packageDepth";
+   public static final String RELATIONSHIP_DENSITY_PROPERTY = "benchmark.relationshipDensity";
+   public static final String GENERATOR_PROPERTY = "benchmark.generator";
+
+   private final BenchmarkRunner runner;
+
+   public GModelBenchmarks(final BenchmarkRunner runner) {
+      this.runner = runner;
+   }
+
+   public static void main(final String[] args) throws IOException {
+      BenchmarkRunner runner = new BenchmarkRunner();
+      GModelBenchmarks benchmarks = new GModelBenchmarks(runner);
+      int packageDepth = Integer.getInteger(PACKAGE_DEPTH_PROPERTY, 3);
+      double relationshipDensity = Double.parseDouble(System.getProperty(RELATIONSHIP_DENSITY_PROPERTY, "0.5"));
+      for (int elements : getElements()) {
+         benchmarks.run(elements, packageDepth, relationshipDensity);
+      }
+      runner.writeResults(new File(args.length > 0 ? args[0] : "target/benchmarks/gmodel.json"));
+   }
+
+   public static List<Integer> getElements() {
+      return Arrays.stream(System.getProperty(ELEMENTS_PROPERTY, "1000,10000,100000").split(","))
+         .map(String::trim)
+         .map(Integer::valueOf)
+         .collect(Collectors.toList());
+   }
+
+   public void run(final int elements, final int packageDepth, final double relationshipDensity) {
+      Map<String, Object> params = new LinkedHashMap<>();
+      params.put("elements", elements);
+      params.put("packageDepth", packageDepth);
+      params.put("relationshipDensity", relationshipDensity);
+
+      SyntheticUmlModel useCaseModel = Boolean.getBoolean(GENERATOR_PROPERTY)
+         ? SyntheticUmlModel.generate(new UmlModelGenerator().representation(Representation.USECASE)
+            .elements(elements).packageDepth(packageDepth).includeDensity(relationshipDensity / 4)
+            .extendDensity(relationshipDensity / 4).generalizationDensity(relationshipDensity / 4)
+            .associationDensity(relationshipDensity / 4))
+         : SyntheticUmlModel.builder(Representation.USECASE).elements(elements).packageDepth(packageDepth)
+            .relationshipDensity(relationshipDensity).build();
+      BenchmarkModelState useCaseState = new BenchmarkModelState(useCaseModel);
+      runner.run("UmlUseCaseDiagramModelFactory.create", params,
+         () -> createAndDispose(new UmlUseCaseDiagramModelFactory(useCaseState)));
+      GModelFactory cachedFactory = new UmlUseCaseDiagramModelFactory(useCaseState);
+      runner.run("UmlUseCaseDiagramModelFactory.create.cached", params, cachedFactory::create);
+      cachedFactory.dispose();
+
+      UmlModelIndex index = useCaseState.getIndex();
+      runner.run("UmlFacade.new", params, () -> {
+         index.clear();
+         new UmlFacade(useCaseModel.getUmlModel(), useCaseModel.getDiagram(), index);
+      });
+      runner.run("UmlModelIndex.indexNotation", params, () -> {
+         index.clear();
+         index.indexNotation(useCaseModel.getDiagram());
+      });
+      runner.measureHeap("UmlModelIndex.heap", params, () -> {
+         UmlModelIndex heapIndex = UmlModelIndex.create(GraphFactory.eINSTANCE.createGGraph());
+         heapIndex.indexNotation(useCaseModel.getDiagram());
+         return heapIndex;
+      });
+      runner.measureHeap("HashBiMap.heap", params, () -> new BiMapIndex(useCaseModel.getDiagram()));
+
+      SyntheticUmlModel classModel = Boolean.getBoolean(GENERATOR_PROPERTY)
+         ? SyntheticUmlModel.generate(new UmlModelGenerator().representation(Representation.CLASS).elements(elements)
+            .generalizationDensity(relationshipDensity / 3).associationDensity(relationshipDensity * 2 / 3))
+         : SyntheticUmlModel.builder(Representation.CLASS).elements(elements)
+            .relationshipDensity(relationshipDensity).build();
+      BenchmarkModelState classState = new BenchmarkModelState(classModel);
+      runner.run("UmlClassDiagramModelFactory.create", params,
+         () -> createAndDispose(new UmlClassDiagramModelFactory(classState)));
+   }
+
+   protected static void createAndDispose(final GModelFactory factory) {
+      factory.create();
+      factory.dispose();
+   }
+
+   /**
+    * Baseline of the heap measurement, indexes the notation like the model index did with two {@link BiMap BiMaps}.
+    */
+   protected static class BiMapIndex {
+      private final BiMap<String, EObject> semanticIndex = HashBiMap.create();
+      private final BiMap<EObject, NotationElement> notationIndex = HashBiMap.create();
+
+      public BiMapIndex(final Diagram diagram) {
+         indexNotation(diagram);
+      }
+
+      protected void indexNotation(final NotationElement notationElement) {
+         if (notationElement.getSemanticElement() != null) {
+            EObject semanticElement = notationElement.getSemanticElement().getResolvedElement();
+            notationIndex.put(semanticElement, notationElement);
+            semanticIndex.inverse().putIfAbsent(semanticElement, EcoreUtil.getURI(semanticElement).fragment());
+         }
+         if (notationElement instanceof Diagram) {
+            ((Diagram) notationElement).getElements().forEach(this::indexNotation);
+         }
+      }
+   }
+
+   /**
+    * Model state that provides a synthetic model instead of fetching it from the model server.
+    */
+   public static class BenchmarkModelState extends UmlModelState {
+      private final UmlFacade umlFacade;
+
+      public BenchmarkModelState(final SyntheticUmlModel model) {
+         this.umlFacade = new UmlFacade(model.getUmlModel(), model.getDiagram(), getIndex());
+      }
+
+      @Override
+      public UmlFacade getUmlFacade() { return umlFacade; }
+   }
+
+}
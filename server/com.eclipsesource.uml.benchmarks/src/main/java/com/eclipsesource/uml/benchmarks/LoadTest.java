@@ -0,0 +1,377 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import com.eclipsesource.uml.glsp.UmlGLSPServerLauncher;
+import com.eclipsesource.uml.glsp.util.UmlConfig.Types;
+import com.eclipsesource.uml.modelserver.UmlModelGenerator;
+import com.eclipsesource.uml.modelserver.UmlModelServerLauncher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Load test that simulates concurrent diagram editors against a GLSP server and a model server on the same machine.
+ * <p>
+ * Unless {@value #EXTERNAL_PROPERTY} is set, both servers are started in this JVM with their launchers, so the heap
+ * usage of the servers can be sampled over time. The workspace is filled with models of the
+ * {@link UmlModelGenerator}. Every client opens a model and then creates, moves and deletes nodes and undoes and
+ * redoes its changes at the configured rate. The latency of an action is the time until the resulting model update
+ * is received, including the bounds round-trip.
+ * </p>
+ * <p>
+ * The runs are configured with the system properties defined in this class, the results are written as JSON to the
+ * file given as first argument.
+ * </p>
+ */
+public class LoadTest {
+
+   private static Logger LOGGER = Logger.getLogger(LoadTest.class.getSimpleName());
+
+   public static final String CLIENTS_PROPERTY = "load.clients";
+   public static final String MODELS_PROPERTY = "load.models";
+   public static final String ELEMENTS_PROPERTY = "load.elements";
+   public static final String DURATION_PROPERTY = "load.duration";
+   public static final String RATE_PROPERTY = "load.actionsPerSecond";
+   public static final String MIX_PROPERTY = "load.mix";
+   public static final String TIMEOUT_PROPERTY = "load.timeout";
+   public static final String EXTERNAL_PROPERTY = "load.external";
+   public static final String GLSP_PORT_PROPERTY = "load.glspPort";
+   public static final String MODEL_SERVER_URL_PROPERTY = "load.modelServerUrl";
+   public static final String WORKSPACE_PROPERTY = "load.workspace";
+
+   protected static final String REQUEST_MODEL = "requestModel";
+   protected static final String CREATE = "create";
+   protected static final String MOVE = "move";
+   protected static final String DELETE = "delete";
+   protected static final String UNDO = "undo";
+   protected static final String REDO = "redo";
+
+   private final int clients = Integer.getInteger(CLIENTS_PROPERTY, 10);
+   private final int models = Integer.getInteger(MODELS_PROPERTY, clients);
+   private final int elements = Integer.getInteger(ELEMENTS_PROPERTY, 1000);
+   private final long durationMillis = TimeUnit.SECONDS.toMillis(Long.getLong(DURATION_PROPERTY, 60));
+   private final double actionsPerSecond = Double.parseDouble(System.getProperty(RATE_PROPERTY, "1"));
+   private final Map<String, Integer> mix = parseMix(
+      System.getProperty(MIX_PROPERTY, "create=30,move=40,delete=10,undo=10,redo=10"));
+   private final long timeoutMillis = Long.getLong(TIMEOUT_PROPERTY, 10000);
+   private final boolean external = Boolean.getBoolean(EXTERNAL_PROPERTY);
+   private final int glspPort = Integer.getInteger(GLSP_PORT_PROPERTY, 5007);
+   private final String modelServerUrl = System.getProperty(MODEL_SERVER_URL_PROPERTY,
+      "http://localhost:8081/api/v1/");
+
+   private final Map<String, BenchmarkRunner.Samples> latencies = new LinkedHashMap<>();
+   private final Map<String, AtomicLong> timeouts = new LinkedHashMap<>();
+   private final List<Map<String, Object>> heapSamples = new ArrayList<>();
+   private final AtomicLong completedActions = new AtomicLong();
+   private final HttpClient httpClient = HttpClient.newHttpClient();
+
+   public static void main(final String[] args) throws Exception {
+      LoadTest loadTest = new LoadTest();
+      Map<String, Object> results = loadTest.run();
+      File file = new File(args.length > 0 ? args[0] : "target/benchmarks/load.json");
+      if (file.getParentFile() != null) {
+         file.getParentFile().mkdirs();
+      }
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, results);
+      // the servers started by the launchers do not stop on their own
+      System.exit(0);
+   }
+
+   public Map<String, Object> run() throws Exception {
+      for (String action : List.of(REQUEST_MODEL, CREATE, MOVE, DELETE, UNDO, REDO)) {
+         latencies.put(action, new BenchmarkRunner.Samples());
+         timeouts.put(action, new AtomicLong());
+      }
+      File workspace = createWorkspace();
+      if (!external) {
+         startServers();
+      }
+      configureModelServer(workspace);
+
+      long start = System.currentTimeMillis();
+      ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+      heapSampler.scheduleAtFixedRate(() -> sampleHeap(start), 0, 1, TimeUnit.SECONDS);
+      ExecutorService clientExecutor = Executors.newFixedThreadPool(clients);
+      for (int i = 0; i < clients; i++) {
+         File model = new File(workspace, "model" + i % models + ".uml");
+         String clientId = "load-client-" + i;
+         long seed = i;
+         clientExecutor.execute(() -> runClient(clientId, model, workspace, start + durationMillis, seed));
+      }
+      clientExecutor.shutdown();
+      clientExecutor.awaitTermination(durationMillis + 2 * timeoutMillis * clients, TimeUnit.MILLISECONDS);
+      heapSampler.shutdownNow();
+      return createResults(System.currentTimeMillis() - start);
+   }
+
+   protected File createWorkspace() throws IOException {
+      String workspacePath = System.getProperty(WORKSPACE_PROPERTY);
+      File workspace = workspacePath != null ? new File(workspacePath)
+         : Files.createTempDirectory("uml-load-test").toFile();
+      workspace.mkdirs();
+      for (int i = 0; i < models; i++) {
+         File model = new File(workspace, "model" + i + ".uml");
+         if (!model.isFile()) {
+            new UmlModelGenerator().elements(elements).seed(i).generate(model);
+         }
+      }
+      return workspace;
+   }
+
+   protected void startServers() throws Exception {
+      startDaemon("model-server", () -> UmlModelServerLauncher.main(new String[0]));
+      long deadline = System.currentTimeMillis() + timeoutMillis * 3;
+      while (!isModelServerAlive()) {
+         waitUntil(deadline, "model server");
+      }
+      startDaemon("glsp-server",
+         () -> UmlGLSPServerLauncher.main(new String[] { "--port", String.valueOf(glspPort) }));
+      while (!isGLSPServerAlive()) {
+         waitUntil(deadline, "GLSP server");
+      }
+   }
+
+   protected static void startDaemon(final String name, final Runnable launcher) {
+      Thread thread = new Thread(launcher, name);
+      thread.setDaemon(true);
+      thread.start();
+   }
+
+   protected static void waitUntil(final long deadline, final String server) throws InterruptedException {
+      if (System.currentTimeMillis() > deadline) {
+         throw new IllegalStateException("The " + server + " did not start");
+      }
+      Thread.sleep(200);
+   }
+
+   protected boolean isModelServerAlive() {
+      try {
+         return httpClient.send(HttpRequest.newBuilder(URI.create(modelServerUrl + "server/ping")).build(),
+            HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+      } catch (IOException e) {
+         return false;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return false;
+      }
+   }
+
+   protected boolean isGLSPServerAlive() {
+      try (Socket socket = new Socket("localhost", glspPort)) {
+         return true;
+      } catch (IOException e) {
+         return false;
+      }
+   }
+
+   /**
+    * Sets the workspace of the model server like the IDE does when it connects to the model server.
+    */
+   protected void configureModelServer(final File workspace) throws IOException, InterruptedException {
+      Map<String, String> configuration = new LinkedHashMap<>();
+      configuration.put("workspaceRoot", getWorkspaceRoot(workspace));
+      configuration.put("uiSchemaFolder", getWorkspaceRoot(workspace));
+      HttpRequest request = HttpRequest.newBuilder(URI.create(modelServerUrl + "server/configure"))
+         .header("Content-Type", "application/json")
+         .PUT(HttpRequest.BodyPublishers.ofString(new ObjectMapper().writeValueAsString(configuration)))
+         .build();
+      int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+      if (status != 200) {
+         throw new IllegalStateException("Could not configure the model server workspace: " + status);
+      }
+   }
+
+   // the workspace root as the IDE sends it, the GLSP server resolves the model uri relative to it
+   protected static String getWorkspaceRoot(final File workspace) {
+      return "file://" + workspace.getAbsolutePath();
+   }
+
+   protected void runClient(final String clientId, final File model, final File workspace, final long deadline,
+      final long seed) {
+      Random random = new Random(seed);
+      long interval = (long) (1000 / actionsPerSecond);
+      try (GLSPLoadClient client = new GLSPLoadClient(clientId, "localhost", glspPort)) {
+         client.initialize(modelServerUrl, timeoutMillis);
+         measure(REQUEST_MODEL, client,
+            () -> client.requestModel(model.getAbsolutePath(), getWorkspaceRoot(workspace), "umldiagram"));
+         int undoable = 0;
+         int redoable = 0;
+         while (System.currentTimeMillis() < deadline) {
+            long actionStart = System.currentTimeMillis();
+            String action = nextAction(random, undoable, redoable);
+            List<JsonNode> nodes = client.getNodes(Types.USECASE, Types.ACTOR);
+            if (nodes.isEmpty() && (MOVE.equals(action) || DELETE.equals(action))) {
+               action = CREATE;
+            }
+            boolean completed;
+            switch (action) {
+               case MOVE:
+                  JsonNode node = nodes.get(random.nextInt(nodes.size()));
+                  completed = measure(action, client,
+                     () -> client.changeBounds(node, random.nextInt(41) - 20, random.nextInt(41) - 20));
+                  break;
+               case DELETE:
+                  String elementId = nodes.get(random.nextInt(nodes.size())).path("id").asText();
+                  completed = measure(action, client, () -> client.delete(elementId));
+                  break;
+               case UNDO:
+                  completed = measure(action, client, client::undo);
+                  break;
+               case REDO:
+                  completed = measure(action, client, client::redo);
+                  break;
+               default:
+                  String type = random.nextBoolean() ? Types.USECASE : Types.ACTOR;
+                  completed = measure(CREATE, client,
+                     () -> client.createNode(type, random.nextInt(4000), random.nextInt(4000)));
+            }
+            if (completed) {
+               if (UNDO.equals(action)) {
+                  undoable--;
+                  redoable++;
+               } else if (REDO.equals(action)) {
+                  undoable++;
+                  redoable--;
+               } else {
+                  undoable++;
+                  redoable = 0;
+               }
+            }
+            Thread.sleep(Math.max(0, interval - (System.currentTimeMillis() - actionStart)));
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (Exception e) {
+         LOGGER.error("Client " + clientId + " failed", e);
+      }
+   }
+
+   protected String nextAction(final Random random, final int undoable, final int redoable) {
+      int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+      int pick = random.nextInt(Math.max(1, total));
+      for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+         pick -= entry.getValue();
+         if (pick < 0) {
+            String action = entry.getKey();
+            // undo and redo are only sent if there is something to undo or redo, like in the editor
+            if (UNDO.equals(action) && undoable == 0 || REDO.equals(action) && redoable == 0) {
+               return MOVE;
+            }
+            return action;
+         }
+      }
+      return MOVE;
+   }
+
+   /**
+    * Sends the action and waits for the resulting model update.
+    *
+    * @return whether the model update was received within the timeout
+    */
+   protected boolean measure(final String action, final GLSPLoadClient client, final Runnable send)
+      throws InterruptedException {
+      // updates caused by other clients editing the same model are not attributed to this action
+      client.clearModels();
+      long start = System.nanoTime();
+      send.run();
+      if (client.awaitModel(timeoutMillis) == null) {
+         timeouts.get(action).incrementAndGet();
+         return false;
+      }
+      long latency = System.nanoTime() - start;
+      BenchmarkRunner.Samples samples = latencies.get(action);
+      synchronized (samples) {
+         samples.add(latency, -1);
+      }
+      completedActions.incrementAndGet();
+      return true;
+   }
+
+   protected void sampleHeap(final long start) {
+      MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+      Map<String, Object> sample = new LinkedHashMap<>();
+      sample.put("time", System.currentTimeMillis() - start);
+      sample.put("heapUsed", heap.getUsed());
+      sample.put("heapCommitted", heap.getCommitted());
+      sample.put("completedActions", completedActions.get());
+      synchronized (heapSamples) {
+         heapSamples.add(sample);
+      }
+   }
+
+   protected Map<String, Object> createResults(final long elapsedMillis) {
+      Map<String, Object> params = new LinkedHashMap<>();
+      params.put("clients", clients);
+      params.put("models", models);
+      params.put("elements", elements);
+      params.put("durationMillis", durationMillis);
+      params.put("actionsPerSecond", actionsPerSecond);
+      params.put("mix", mix);
+
+      double elapsedSeconds = elapsedMillis / 1000.0;
+      Map<String, Object> actions = new LinkedHashMap<>();
+      for (Map.Entry<String, BenchmarkRunner.Samples> entry : latencies.entrySet()) {
+         BenchmarkRunner.Samples samples = entry.getValue();
+         Map<String, Object> result = new LinkedHashMap<>();
+         result.put("count", samples.getCount());
+         result.put("timeouts", timeouts.get(entry.getKey()).get());
+         result.put("throughput", samples.getCount() / elapsedSeconds);
+         result.put("latencyPercentiles", samples.getPercentiles());
+         actions.put(entry.getKey(), result);
+         LOGGER.info(String.format("%s: %d actions, %d timeouts, p50 %.1f ms, p99 %.1f ms", entry.getKey(),
+            samples.getCount(), timeouts.get(entry.getKey()).get(), samples.getPercentile(0.5),
+            samples.getPercentile(0.99)));
+      }
+
+      Map<String, Object> results = new LinkedHashMap<>();
+      results.put("params", params);
+      results.put("elapsedMillis", elapsedMillis);
+      results.put("throughput", completedActions.get() / elapsedSeconds);
+      results.put("actions", actions);
+      // the heap is only sampled for servers that run in this JVM
+      results.put("heap", external ? List.of() : heapSamples);
+      return results;
+   }
+
+   protected static Map<String, Integer> parseMix(final String mix) {
+      Map<String, Integer> weights = new LinkedHashMap<>();
+      for (String entry : mix.split(",")) {
+         String[] weight = entry.trim().split("=");
+         weights.put(weight[0].trim(), Integer.valueOf(weight[1].trim()));
+      }
+      return weights;
+   }
+
+}
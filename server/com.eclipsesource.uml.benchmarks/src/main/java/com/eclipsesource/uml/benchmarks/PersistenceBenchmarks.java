@@ -0,0 +1,141 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.uml2.uml.resource.UMLResource;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+
+import com.eclipsesource.uml.modelserver.UmlBinaryFormat;
+import com.eclipsesource.uml.modelserver.UmlNotationUtil;
+import com.eclipsesource.uml.modelserver.unotation.Representation;
+
+/**
+ * Benchmarks of saving and loading the model and diagram resources as XMI and in the {@link UmlBinaryFormat}.
+ * <p>
+ * Both formats are loaded with the resource factories of the binary format, which detect the format of the file, like
+ * the model server does with {@value UmlBinaryFormat#BINARY_RESOURCES_PROPERTY}. Besides the time, the file sizes and
+ * the heap retained by the loaded resource set are reported. The models are the ones of the {@link CodecBenchmarks},
+ * sized by their XMI with {@value CodecBenchmarks#PAYLOAD_SIZES_PROPERTY}. The results are written to the file given
+ * as first argument.
+ * </p>
+ */
+public class PersistenceBenchmarks {
+
+   private static final String XMI = "xmi";
+   private static final String BINARY = "binary";
+
+   private final BenchmarkRunner runner;
+
+   public PersistenceBenchmarks(final BenchmarkRunner runner) {
+      this.runner = runner;
+   }
+
+   public static void main(final String[] args) throws IOException {
+      BenchmarkRunner runner = new BenchmarkRunner();
+      PersistenceBenchmarks benchmarks = new PersistenceBenchmarks(runner);
+      for (int payloadSize : CodecBenchmarks.getPayloadSizes()) {
+         benchmarks.run(payloadSize);
+      }
+      runner.writeResults(new File(args.length > 0 ? args[0] : "target/benchmarks/persistence.json"));
+   }
+
+   public void run(final int payloadSize) throws IOException {
+      int elements = CodecBenchmarks.getElementsForPayload(payloadSize);
+      SyntheticUmlModel model = SyntheticUmlModel.builder(Representation.USECASE).elements(elements).build();
+      Path directory = Files.createTempDirectory("uml-benchmark");
+      Path xmiDirectory = Files.createDirectory(directory.resolve(XMI));
+      Path binaryDirectory = Files.createDirectory(directory.resolve(BINARY));
+
+      Map<String, Object> params = new LinkedHashMap<>();
+      params.put("payloadSize", payloadSize);
+      params.put("elements", elements);
+
+      // save once before measuring to report the file sizes
+      saveAll(model, xmiDirectory, false);
+      saveAll(model, binaryDirectory, true);
+      Map<String, Object> xmiParams = new LinkedHashMap<>(params);
+      xmiParams.put("fileBytes", getSize(xmiDirectory));
+      Map<String, Object> binaryParams = new LinkedHashMap<>(params);
+      binaryParams.put("fileBytes", getSize(binaryDirectory));
+
+      runner.run("Save.xmi", xmiParams, () -> saveAll(model, xmiDirectory, false));
+      runner.run("Save.binary", binaryParams, () -> saveAll(model, binaryDirectory, true));
+
+      runner.run("Load.xmi", xmiParams, () -> loadAll(xmiDirectory));
+      runner.run("Load.binary", binaryParams, () -> loadAll(binaryDirectory));
+
+      runner.measureHeap("Load.xmi.heap", xmiParams, () -> loadAll(xmiDirectory));
+      runner.measureHeap("Load.binary.heap", binaryParams, () -> loadAll(binaryDirectory));
+   }
+
+   protected static void saveAll(final SyntheticUmlModel model, final Path directory, final boolean binary) {
+      for (Resource resource : model.getResourceSet().getResources()) {
+         save((XMLResource) resource, directory.resolve(resource.getURI().lastSegment()), binary);
+      }
+   }
+
+   protected static void save(final XMLResource resource, final Path file, final boolean binary) {
+      try (OutputStream outputStream = Files.newOutputStream(file)) {
+         if (binary) {
+            UmlBinaryFormat.save(resource, outputStream, null);
+         } else {
+            resource.save(outputStream, null);
+         }
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   /**
+    * Loads the model and the diagram into a new resource set and resolves the references of the diagram.
+    */
+   protected static ResourceSet loadAll(final Path directory) {
+      ResourceSet resourceSet = createResourceSet();
+      for (File file : directory.toFile().listFiles()) {
+         resourceSet.getResource(URI.createFileURI(file.getAbsolutePath()), true);
+      }
+      EcoreUtil.resolveAll(resourceSet);
+      return resourceSet;
+   }
+
+   protected static ResourceSet createResourceSet() {
+      ResourceSet resourceSet = new ResourceSetImpl();
+      Map<String, Object> extensionToFactoryMap = resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap();
+      extensionToFactoryMap.put(UMLResource.FILE_EXTENSION, new UmlBinaryFormat.UmlResourceFactory());
+      extensionToFactoryMap.put(UmlNotationUtil.NOTATION_EXTENSION, new UmlBinaryFormat.NotationResourceFactory());
+      UMLResourcesUtil.init(resourceSet);
+      return resourceSet;
+   }
+
+   protected static long getSize(final Path directory) {
+      long size = 0;
+      for (File file : directory.toFile().listFiles()) {
+         size += file.length();
+      }
+      return size;
+   }
+
+}
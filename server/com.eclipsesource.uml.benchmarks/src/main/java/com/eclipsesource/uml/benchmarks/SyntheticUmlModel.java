@@ -0,0 +1,300 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.glsp.graph.util.GraphUtil;
+import org.eclipse.uml2.uml.Actor;
+import org.eclipse.uml2.uml.Association;
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Classifier;
+import org.eclipse.uml2.uml.Extend;
+import org.eclipse.uml2.uml.ExtensionPoint;
+import org.eclipse.uml2.uml.Include;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Package;
+import org.eclipse.uml2.uml.PackageableElement;
+import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.Relationship;
+import org.eclipse.uml2.uml.UMLFactory;
+import org.eclipse.uml2.uml.UseCase;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+
+import com.eclipsesource.uml.modelserver.UmlModelGenerator;
+import com.eclipsesource.uml.modelserver.UmlNotationUtil;
+import com.eclipsesource.uml.modelserver.unotation.Diagram;
+import com.eclipsesource.uml.modelserver.unotation.Edge;
+import com.eclipsesource.uml.modelserver.unotation.Representation;
+import com.eclipsesource.uml.modelserver.unotation.SemanticProxy;
+import com.eclipsesource.uml.modelserver.unotation.Shape;
+import com.eclipsesource.uml.modelserver.unotation.UnotationFactory;
+
+/**
+ * In-memory UML model with a diagram that shows all of its elements, generated with a fixed seed so every run
+ * measures the same model.
+ * <p>
+ * Use case models consist of packages, actors and use cases with includes, extends, generalizations and
+ * associations between them. Class models consist of classes with properties, associations and generalizations,
+ * the package nesting depth is not used for them since the class diagram only shows top-level classes.
+ * </p>
+ */
+public class SyntheticUmlModel {
+
+   private static final int COLUMNS = 40;
+   private static final UMLFactory UML = UMLFactory.eINSTANCE;
+   private static final UnotationFactory NOTATION = UnotationFactory.eINSTANCE;
+
+   private final ResourceSet resourceSet;
+   private final Model umlModel;
+   private final Diagram diagram;
+
+   protected SyntheticUmlModel(final ResourceSet resourceSet, final Model umlModel, final Diagram diagram) {
+      this.resourceSet = resourceSet;
+      this.umlModel = umlModel;
+      this.diagram = diagram;
+   }
+
+   public static Builder builder(final Representation representation) {
+      return new Builder(representation);
+   }
+
+   /**
+    * Creates the model with the {@link UmlModelGenerator} instead, i.e. by executing the model server commands. This
+    * is slower than the builder but the model has the same structure as edited models.
+    */
+   public static SyntheticUmlModel generate(final UmlModelGenerator generator) {
+      URI modelUri = URI.createFileURI(new File("generated.uml").getAbsolutePath());
+      ResourceSet resourceSet = generator.generate(modelUri);
+      Model umlModel = (Model) resourceSet.getResource(modelUri, false).getContents().get(0);
+      Diagram diagram = (Diagram) resourceSet
+         .getResource(modelUri.trimFileExtension().appendFileExtension(UmlNotationUtil.NOTATION_EXTENSION), false)
+         .getContents().get(0);
+      return new SyntheticUmlModel(resourceSet, umlModel, diagram);
+   }
+
+   public ResourceSet getResourceSet() { return resourceSet; }
+
+   public Model getUmlModel() { return umlModel; }
+
+   public Diagram getDiagram() { return diagram; }
+
+   public static class Builder {
+      private final Representation representation;
+      private int elements = 1000;
+      private int packageDepth = 3;
+      private double relationshipDensity = 0.5;
+      private long seed = 42;
+
+      private Random random;
+      private Model umlModel;
+      private Diagram diagram;
+      private final List<Package> packages = new ArrayList<>();
+      private final List<Classifier> actors = new ArrayList<>();
+      private final List<Classifier> classifiers = new ArrayList<>();
+
+      protected Builder(final Representation representation) {
+         this.representation = representation;
+      }
+
+      /**
+       * Number of nodes of the model, i.e. packages, actors, use cases or classes.
+       */
+      public Builder elements(final int elements) {
+         this.elements = elements;
+         return this;
+      }
+
+      /**
+       * Maximum nesting depth of packages, 0 creates no packages.
+       */
+      public Builder packageDepth(final int packageDepth) {
+         this.packageDepth = packageDepth;
+         return this;
+      }
+
+      /**
+       * Number of relationships per node.
+       */
+      public Builder relationshipDensity(final double relationshipDensity) {
+         this.relationshipDensity = relationshipDensity;
+         return this;
+      }
+
+      public Builder seed(final long seed) {
+         this.seed = seed;
+         return this;
+      }
+
+      public SyntheticUmlModel build() {
+         random = new Random(seed);
+         ResourceSet resourceSet = new ResourceSetImpl();
+         UMLResourcesUtil.init(resourceSet);
+         Resource umlResource = resourceSet.createResource(URI.createFileURI("synthetic.uml"));
+         Resource notationResource = new XMIResourceImpl(URI.createFileURI("synthetic.unotation"));
+         resourceSet.getResources().add(notationResource);
+
+         umlModel = UML.createModel();
+         umlModel.setName("Synthetic");
+         umlResource.getContents().add(umlModel);
+         diagram = NOTATION.createDiagram();
+         diagram.setDiagramType(representation);
+         notationResource.getContents().add(diagram);
+
+         if (representation == Representation.CLASS) {
+            createClassModel();
+         } else {
+            createUseCaseModel();
+         }
+         assignIds((XMLResource) umlResource);
+         diagram.setSemanticElement(createProxy(umlModel));
+         createNotation();
+         return new SyntheticUmlModel(resourceSet, umlModel, diagram);
+      }
+
+      protected void createUseCaseModel() {
+         int packageCount = packageDepth > 0 ? Math.max(1, elements / 25) : 0;
+         Package[] lastAtDepth = new Package[Math.max(1, packageDepth)];
+         for (int i = 0; i < packageCount; i++) {
+            int depth = i % packageDepth;
+            Package parent = depth == 0 ? umlModel : lastAtDepth[depth - 1];
+            Package newPackage = UML.createPackage();
+            newPackage.setName("Package" + i);
+            parent.getPackagedElements().add(newPackage);
+            lastAtDepth[depth] = newPackage;
+            packages.add(newPackage);
+         }
+         for (int i = packageCount; i < elements; i++) {
+            Classifier classifier = i % 5 == 0 ? UML.createActor() : UML.createUseCase();
+            classifier.setName((classifier instanceof Actor ? "Actor" : "UseCase") + i);
+            randomOwner().getPackagedElements().add(classifier);
+            (classifier instanceof Actor ? actors : classifiers).add(classifier);
+         }
+         int relationships = (int) Math.round(elements * relationshipDensity);
+         for (int i = 0; i < relationships && classifiers.size() > 1; i++) {
+            UseCase source = (UseCase) pick(classifiers);
+            UseCase target = (UseCase) pick(classifiers);
+            switch (i % 4) {
+               case 0:
+                  Include include = UML.createInclude();
+                  include.setAddition(target);
+                  source.getIncludes().add(include);
+                  break;
+               case 1:
+                  ExtensionPoint extensionPoint = target.createExtensionPoint("extensionPoint" + i);
+                  Extend extend = UML.createExtend();
+                  source.getExtends().add(extend);
+                  extend.setExtendedCase(target);
+                  extend.getExtensionLocations().add(extensionPoint);
+                  break;
+               case 2:
+                  if (actors.size() > 1) {
+                     pick(actors).createGeneralization(pick(actors));
+                  } else {
+                     source.createGeneralization(target);
+                  }
+                  break;
+               default:
+                  createAssociation(actors.isEmpty() ? source : pick(actors), target);
+            }
+         }
+      }
+
+      protected void createClassModel() {
+         for (int i = 0; i < elements; i++) {
+            Class newClass = UML.createClass();
+            newClass.setName("Class" + i);
+            umlModel.getPackagedElements().add(newClass);
+            classifiers.add(newClass);
+         }
+         for (Classifier classifier : classifiers) {
+            for (int i = 0; i < 2; i++) {
+               Property property = ((Class) classifier).createOwnedAttribute("property" + i, null);
+               if (random.nextBoolean()) {
+                  property.setType(pick(classifiers));
+               }
+            }
+         }
+         int relationships = (int) Math.round(elements * relationshipDensity);
+         for (int i = 0; i < relationships && classifiers.size() > 1; i++) {
+            if (i % 3 == 0) {
+               pick(classifiers).createGeneralization(pick(classifiers));
+            } else {
+               createAssociation(pick(classifiers), pick(classifiers));
+            }
+         }
+      }
+
+      protected void createAssociation(final Classifier source, final Classifier target) {
+         Association association = UML.createAssociation();
+         association.createOwnedEnd(source.getName().toLowerCase(), source);
+         association.createOwnedEnd(target.getName().toLowerCase(), target);
+         umlModel.getPackagedElements().add(association);
+      }
+
+      protected void createNotation() {
+         int index = 0;
+         TreeIterator<EObject> contents = umlModel.eAllContents();
+         while (contents.hasNext()) {
+            EObject next = contents.next();
+            if (next instanceof Relationship) {
+               Edge edge = NOTATION.createEdge();
+               edge.setSemanticElement(createProxy(next));
+               diagram.getElements().add(edge);
+            } else if (next instanceof Classifier || next instanceof Package) {
+               Shape shape = NOTATION.createShape();
+               shape.setSemanticElement(createProxy(next));
+               shape.setPosition(GraphUtil.point(index % COLUMNS * 200, index / COLUMNS * 150));
+               shape.setSize(GraphUtil.dimension(160, 100));
+               diagram.getElements().add(shape);
+               index++;
+            }
+         }
+      }
+
+      protected void assignIds(final XMLResource resource) {
+         int index = 0;
+         TreeIterator<EObject> contents = resource.getAllContents();
+         while (contents.hasNext()) {
+            resource.setID(contents.next(), "_synthetic" + index++);
+         }
+      }
+
+      protected SemanticProxy createProxy(final EObject eObject) {
+         SemanticProxy proxy = NOTATION.createSemanticProxy();
+         proxy.setUri(EcoreUtil.getURI(eObject).fragment());
+         proxy.setResolvedElement(eObject);
+         return proxy;
+      }
+
+      protected Package randomOwner() {
+         int index = random.nextInt(packages.size() + 1);
+         return index == packages.size() ? umlModel : packages.get(index);
+      }
+
+      protected <T extends PackageableElement> T pick(final List<T> elements) {
+         return elements.get(random.nextInt(elements.size()));
+      }
+   }
+
+}
@@ -0,0 +1,199 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.glsp.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.eclipsesource.uml.modelserver.unotation.Shape;
+import com.eclipsesource.uml.modelserver.unotation.UnotationFactory;
+
+public class SemanticIdTableTest {
+
+   private static final int NO_HANDLE = -1;
+
+   private SemanticIdTable table;
+
+   @Before
+   public void setUp() {
+      table = new SemanticIdTable();
+   }
+
+   @Test
+   public void addAndLookupElement() {
+      EObject element = createElement();
+      int handle = table.getOrAdd(element);
+
+      assertEquals(handle, table.getOrAdd(element));
+      assertEquals(handle, table.lookup(element));
+      assertSame(element, table.element(handle));
+      assertEquals(1, table.size());
+      assertEquals(NO_HANDLE, table.lookup(createElement()));
+   }
+
+   @Test
+   public void bindIdPoolsFirstInstance() {
+      int handle = table.getOrAdd(createElement());
+      String id = new String("_id");
+
+      assertSame(id, table.bindId(handle, id));
+      assertSame(id, table.id(table.lookup(new String("_id"))));
+      // an element keeps its id and an id stays bound to its element
+      assertSame(id, table.bindId(handle, "_other"));
+      assertEquals(NO_HANDLE, table.lookup("_other"));
+      int otherHandle = table.getOrAdd(createElement());
+      assertNull(table.bindId(otherHandle, new String("_id")));
+      assertEquals(handle, table.lookup("_id"));
+   }
+
+   @Test
+   public void unbindIdReleasesElement() {
+      EObject element = createElement();
+      int handle = table.getOrAdd(element);
+      table.bindId(handle, "_id");
+
+      table.unbindId(handle);
+
+      assertEquals(NO_HANDLE, table.lookup(element));
+      assertEquals(NO_HANDLE, table.lookup("_id"));
+      assertEquals(0, table.size());
+      // released handles are reused
+      assertEquals(handle, table.getOrAdd(createElement()));
+   }
+
+   @Test
+   public void notationKeepsElementIndexed() {
+      EObject element = createElement();
+      int handle = table.getOrAdd(element);
+      table.bindId(handle, "_id");
+      Shape shape = UnotationFactory.eINSTANCE.createShape();
+      table.setNotation(handle, shape);
+
+      table.unbindId(handle);
+      assertEquals(handle, table.lookup(element));
+      assertSame(shape, table.notation(handle));
+
+      table.setNotation(handle, null);
+      assertEquals(NO_HANDLE, table.lookup(element));
+   }
+
+   @Test
+   public void deleteKeepsCollidingIdsReachable() {
+      // the ids have the same hash code and therefore share one probe sequence
+      String[] ids = collidingIds(2);
+      int[] handles = new int[ids.length];
+      for (int i = 0; i < ids.length; i++) {
+         handles[i] = table.getOrAdd(createElement());
+         table.bindId(handles[i], ids[i]);
+      }
+
+      table.unbindId(handles[1]);
+      assertEquals(NO_HANDLE, table.lookup(ids[1]));
+      assertEquals(handles[0], table.lookup(ids[0]));
+      assertEquals(handles[2], table.lookup(ids[2]));
+      assertEquals(handles[3], table.lookup(ids[3]));
+
+      table.unbindId(handles[0]);
+      assertEquals(NO_HANDLE, table.lookup(ids[0]));
+      assertEquals(handles[2], table.lookup(ids[2]));
+      assertEquals(handles[3], table.lookup(ids[3]));
+
+      int handle = table.getOrAdd(createElement());
+      table.bindId(handle, ids[1]);
+      assertEquals(handle, table.lookup(ids[1]));
+      assertEquals(handles[3], table.lookup(ids[3]));
+   }
+
+   @Test
+   public void resizeKeepsAllEntries() {
+      List<EObject> elements = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+         EObject element = createElement();
+         table.bindId(table.getOrAdd(element), "_" + i);
+         elements.add(element);
+      }
+
+      assertEquals(1000, table.size());
+      for (int i = 0; i < elements.size(); i++) {
+         int handle = table.lookup(elements.get(i));
+         assertSame(elements.get(i), table.element(handle));
+         assertEquals("_" + i, table.id(handle));
+         assertEquals(handle, table.lookup("_" + i));
+      }
+   }
+
+   @Test
+   public void randomOperationsMatchReference() {
+      // colliding and distinct ids, enough to resize the tables and wrap probe sequences around their end
+      List<String> ids = new ArrayList<>(List.of(collidingIds(5)));
+      for (int i = 0; i < 100; i++) {
+         ids.add("_" + i);
+      }
+      Map<String, EObject> reference = new HashMap<>();
+      Random random = new Random(42);
+
+      for (int step = 0; step < 5000; step++) {
+         String id = ids.get(random.nextInt(ids.size()));
+         if (reference.containsKey(id)) {
+            table.unbindId(table.lookup(id));
+            reference.remove(id);
+         } else {
+            EObject element = createElement();
+            table.bindId(table.getOrAdd(element), id);
+            reference.put(id, element);
+         }
+
+         assertEquals(reference.size(), table.size());
+         for (String expectedId : ids) {
+            EObject expected = reference.get(expectedId);
+            int handle = table.lookup(expectedId);
+            if (expected == null) {
+               assertEquals(NO_HANDLE, handle);
+            } else {
+               assertSame(expected, table.element(handle));
+               assertEquals(handle, table.lookup(expected));
+            }
+         }
+      }
+   }
+
+   private static EObject createElement() {
+      return EcoreFactory.eINSTANCE.createEObject();
+   }
+
+   /**
+    * Returns the 2^blocks ids made of the blocks "Aa" and "BB", which all have the same hash code.
+    */
+   private static String[] collidingIds(final int blocks) {
+      String[] ids = new String[1 << blocks];
+      for (int i = 0; i < ids.length; i++) {
+         StringBuilder id = new StringBuilder();
+         for (int block = blocks - 1; block >= 0; block--) {
+            id.append((i >> block & 1) == 0 ? "Aa" : "BB");
+         }
+         ids[i] = id.toString();
+      }
+      return ids;
+   }
+
+}
@@ -19,6 +19,8 @@ import org.eclipse.glsp.layout.ElkLayoutEngine;
 import org.eclipse.glsp.server.launch.DefaultGLSPServerLauncher;
 import org.eclipse.glsp.server.launch.GLSPServerLauncher;
 
+import com.eclipsesource.uml.modelserver.metrics.UmlFlightRecorder;
+
 public class UmlGLSPServerLauncher {
 
    private static final Logger LOGGER = Logger.getLogger(UmlGLSPServerLauncher.class.getSimpleName());
@@ -28,6 +30,7 @@ public class UmlGLSPServerLauncher {
    public static void main(final String[] args) {
       int port = getPort(args);
       configureLogger();
+      UmlFlightRecorder.start(args);
       ElkLayoutEngine.initialize(new LayeredMetaDataProvider());
       GLSPServerLauncher launcher = new DefaultGLSPServerLauncher(new UmlGLSPModule());
       launcher.start("localhost", port);
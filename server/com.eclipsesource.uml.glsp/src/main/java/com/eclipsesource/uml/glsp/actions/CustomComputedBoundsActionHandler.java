@@ -32,6 +32,8 @@ import com.eclipsesource.uml.glsp.gmodel.GModelFactory;
 import com.eclipsesource.uml.glsp.gmodel.GModelFactoryProvider;
 import com.eclipsesource.uml.glsp.model.UmlModelState;
 import com.eclipsesource.uml.glsp.util.UmlConfig.Types;
+import com.eclipsesource.uml.modelserver.metrics.UmlCorrelation;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
 
 /**
  * The CustomComputedBoundsActionHandler hooks into the request pipeline that is triggered at each model change.
@@ -47,6 +49,20 @@ public class CustomComputedBoundsActionHandler extends ComputedBoundsActionHandl
 
    @Override
    public List<Action> executeAction(final ComputedBoundsAction action, final GModelState modelState) {
+      long start = System.nanoTime();
+      UmlModelState state = UmlModelState.getModelState(modelState);
+      List<Action> result = UmlMetrics.timer(UmlMetrics.COMPUTED_BOUNDS, UmlMetrics.TAG_MODEL, state.getModelUri())
+         .record(() -> submitComputedBounds(action, modelState));
+      if (!result.isEmpty()) {
+         // the change is submitted to the client, which ends the timeline of the action
+         UmlCorrelation.log(state.getCorrelationId(), UmlCorrelation.SUBMIT, state.getModelUri(),
+            state.getClientId(), start);
+         state.setCorrelationId(null);
+      }
+      return result;
+   }
+
+   protected List<Action> submitComputedBounds(final ComputedBoundsAction action, final GModelState modelState) {
       synchronized (submissionHandler.getModelLock()) {
          GModelRoot model = modelState.getRoot();
          if (model != null && model.getRevision() == action.getRevision()) {
@@ -13,7 +13,6 @@ package com.eclipsesource.uml.glsp.gmodel;
 import java.util.Optional;
 
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.glsp.graph.GModelElement;
 
 import com.eclipsesource.uml.glsp.model.UmlModelState;
@@ -33,12 +32,7 @@ public abstract class AbstractGModelFactory<T extends EObject, E extends GModelE
    }
 
    protected String toId(final EObject semanticElement) {
-      String id = modelState.getIndex().getSemanticId(semanticElement).orElse(null);
-      if (id == null) {
-         id = EcoreUtil.getURI(semanticElement).fragment();
-         modelState.getIndex().indexSemantic(id, semanticElement);
-      }
-      return id;
-
+      // the index hands out the pooled id instance, so GModel elements do not keep copies of it
+      return modelState.getIndex().add(semanticElement);
    }
 }
@@ -0,0 +1,124 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.glsp.gmodel;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.glsp.graph.GModelElement;
+import org.eclipse.uml2.uml.Model;
+
+import com.eclipsesource.uml.glsp.model.UmlModelIndex;
+import com.eclipsesource.uml.modelserver.unotation.Diagram;
+
+/**
+ * Caches the GModel elements created for the top-level semantic elements of a diagram. An entry is reused as long
+ * as the modification stamp of its semantic element did not change, see {@link ModificationStampAdapter}.
+ * The cache is reset whenever the factory is used with a different model or diagram instance.
+ */
+public class GModelCache {
+
+   private final Map<EObject, Entry> entries = new HashMap<>();
+   private final Set<EObject> usedEntries = new HashSet<>();
+   private final Supplier<UmlModelIndex> modelIndex;
+   private ModificationStampAdapter stampAdapter;
+   private Model umlModel;
+   private Diagram diagram;
+
+   public GModelCache(final Supplier<UmlModelIndex> modelIndex) {
+      this.modelIndex = modelIndex;
+   }
+
+   /**
+    * Prepares the cache for the generation of a new GModel for the given model and diagram.
+    */
+   public void begin(final Model umlModel, final Diagram diagram) {
+      if (umlModel != this.umlModel || diagram != this.diagram) {
+         dispose();
+         this.umlModel = umlModel;
+         this.diagram = diagram;
+         stampAdapter = new ModificationStampAdapter(modelIndex);
+         umlModel.eAdapters().add(stampAdapter);
+         diagram.eAdapters().add(stampAdapter);
+      }
+      usedEntries.clear();
+   }
+
+   /**
+    * Drops the entries of all elements that were not part of the last generated GModel.
+    */
+   public void end() {
+      entries.keySet().retainAll(usedEntries);
+      usedEntries.clear();
+   }
+
+   public Optional<GModelElement> get(final EObject semanticElement, final UmlModelIndex index) {
+      Entry entry = entries.get(semanticElement);
+      if (entry == null || stampAdapter == null || entry.stamp != stampAdapter.getStamp(semanticElement)) {
+         return Optional.empty();
+      }
+      usedEntries.add(semanticElement);
+      // the index is cleared on refresh, restore the ids that were registered while creating the element
+      entry.semanticIds.forEach(index::indexSemantic);
+      return Optional.of(entry.element);
+   }
+
+   public void put(final EObject semanticElement, final GModelElement element, final UmlModelIndex index) {
+      if (stampAdapter == null || element == null) {
+         return;
+      }
+      Map<String, EObject> semanticIds = new HashMap<>();
+      collectSemanticId(element, index, semanticIds);
+      TreeIterator<EObject> contents = element.eAllContents();
+      while (contents.hasNext()) {
+         EObject next = contents.next();
+         if (next instanceof GModelElement) {
+            collectSemanticId((GModelElement) next, index, semanticIds);
+         }
+      }
+      entries.put(semanticElement, new Entry(element, stampAdapter.getStamp(semanticElement), semanticIds));
+      usedEntries.add(semanticElement);
+   }
+
+   protected void collectSemanticId(final GModelElement element, final UmlModelIndex index,
+      final Map<String, EObject> semanticIds) {
+      index.getSemantic(element.getId()).ifPresent(semantic -> semanticIds.put(element.getId(), semantic));
+   }
+
+   public void dispose() {
+      entries.clear();
+      usedEntries.clear();
+      if (stampAdapter != null) {
+         umlModel.eAdapters().remove(stampAdapter);
+         diagram.eAdapters().remove(stampAdapter);
+         stampAdapter = null;
+      }
+   }
+
+   private static class Entry {
+      private final GModelElement element;
+      private final long stamp;
+      private final Map<String, EObject> semanticIds;
+
+      Entry(final GModelElement element, final long stamp, final Map<String, EObject> semanticIds) {
+         this.element = element;
+         this.stamp = stamp;
+         this.semanticIds = semanticIds;
+      }
+   }
+
+}
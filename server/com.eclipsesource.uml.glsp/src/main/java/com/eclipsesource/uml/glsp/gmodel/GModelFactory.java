@@ -10,6 +10,9 @@
  ********************************************************************************/
 package com.eclipsesource.uml.glsp.gmodel;
 
+import java.util.Optional;
+
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.glsp.graph.GGraph;
 import org.eclipse.glsp.graph.GModelElement;
@@ -17,7 +20,10 @@ import org.eclipse.glsp.graph.GModelRoot;
 import org.eclipse.glsp.graph.builder.impl.GGraphBuilder;
 import org.eclipse.glsp.server.protocol.GLSPServerException;
 
+import com.eclipsesource.uml.glsp.model.UmlFacade;
 import com.eclipsesource.uml.glsp.model.UmlModelState;
+import com.eclipsesource.uml.modelserver.metrics.GModelFactoryEvent;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
 import com.eclipsesource.uml.modelserver.unotation.Diagram;
 
 public abstract class GModelFactory extends AbstractGModelFactory<EObject, GModelElement> {
@@ -25,9 +31,11 @@ public abstract class GModelFactory extends AbstractGModelFactory<EObject, GMode
    protected final ClassifierNodeFactory classifierNodeFactory;
    protected final LabelFactory labelFactory;
    protected final RelationshipEdgeFactory relationshipEdgeFactory;
+   protected final GModelCache cache;
 
    public GModelFactory(final UmlModelState modelState) {
       super(modelState);
+      cache = new GModelCache(modelState::getIndex);
       labelFactory = new LabelFactory(modelState);
       relationshipEdgeFactory = new RelationshipEdgeFactory(modelState);
       classifierNodeFactory = new ClassifierNodeFactory(modelState, labelFactory);
@@ -43,7 +51,52 @@ public abstract class GModelFactory extends AbstractGModelFactory<EObject, GMode
    public abstract GGraph create(final Diagram umlDiagram);
 
    public GGraph create() {
-      return create(modelState.getUmlFacade().getDiagram());
+      GModelFactoryEvent event = new GModelFactoryEvent();
+      event.begin();
+      long start = System.nanoTime();
+      UmlFacade umlFacade = modelState.getUmlFacade();
+      cache.begin(umlFacade.getUmlModel(), umlFacade.getDiagram());
+      GGraph graph = create(umlFacade.getDiagram());
+      cache.end();
+      UmlMetrics.timer(UmlMetrics.GMODEL_CREATE, UmlMetrics.TAG_TYPE, getClass().getSimpleName(),
+         UmlMetrics.TAG_MODEL, modelState.getModelUri()).recordSince(start);
+      event.end();
+      if (event.shouldCommit()) {
+         event.setFactory(getClass().getSimpleName());
+         event.setModelUri(modelState.getModelUri());
+         event.setElements(countElements(graph));
+         event.commit();
+      }
+      return graph;
+   }
+
+   public static long countElements(final GModelElement root) {
+      long count = 0;
+      for (TreeIterator<EObject> contents = root.eAllContents(); contents.hasNext(); contents.next()) {
+         count++;
+      }
+      return count;
+   }
+
+   /**
+    * Returns the GModel element of a top-level semantic element. The previously created element is reused if
+    * neither the semantic element, its contents nor their notation elements have been modified since.
+    */
+   protected GModelElement createCached(final EObject semanticElement) {
+      Optional<GModelElement> cachedElement = cache.get(semanticElement, modelState.getIndex());
+      if (cachedElement.isPresent()) {
+         return cachedElement.get();
+      }
+      GModelElement element = create(semanticElement);
+      cache.put(semanticElement, element, modelState.getIndex());
+      return element;
+   }
+
+   /**
+    * Releases the cached GModel elements and detaches the factory from the model.
+    */
+   public void dispose() {
+      cache.dispose();
    }
 
    public static GLSPServerException createFailed(final EObject semanticElement) {
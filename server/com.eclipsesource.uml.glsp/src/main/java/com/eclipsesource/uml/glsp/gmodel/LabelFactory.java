@@ -36,13 +36,9 @@ public class LabelFactory extends AbstractGModelFactory<NamedElement, GLabel> {
    }
 
    protected GLabel createPropertyLabel(final Property property) {
-      String label = property.getName()
-         .concat(UmlLabelUtil.getTypeName(property))
-         .concat(UmlLabelUtil.getMultiplicity(property));
-
       return new GLabelBuilder(Types.PROPERTY)
          .id(toId(property))
-         .text(label)
+         .text(UmlLabelUtil.getPropertyLabel(property))
          .build();
    }
 
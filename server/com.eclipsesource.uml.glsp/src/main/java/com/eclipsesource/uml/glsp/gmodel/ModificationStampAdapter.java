@@ -0,0 +1,104 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.glsp.gmodel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.uml2.uml.Type;
+import org.eclipse.uml2.uml.UMLPackage;
+
+import com.eclipsesource.uml.glsp.model.UmlModelIndex;
+import com.eclipsesource.uml.modelserver.unotation.Diagram;
+import com.eclipsesource.uml.modelserver.unotation.NotationElement;
+
+/**
+ * Maintains a modification stamp for each semantic element of the UML model. A change of an element or of its
+ * notation element updates the stamp of the element and of all its containers, so the stamp of an element changes
+ * whenever anything in the subtree that is rendered for it changes. The name of a type is also rendered by the
+ * elements referencing it, so renaming a type updates the stamps of the typed elements found in the
+ * {@link UmlModelIndex} as well.
+ */
+public class ModificationStampAdapter extends EContentAdapter {
+
+   private final Map<EObject, Long> stamps = new HashMap<>();
+   private final Supplier<UmlModelIndex> modelIndex;
+   private long modificationCount;
+
+   public ModificationStampAdapter(final Supplier<UmlModelIndex> modelIndex) {
+      this.modelIndex = modelIndex;
+   }
+
+   @Override
+   public void notifyChanged(final Notification notification) {
+      super.notifyChanged(notification);
+      if (notification.isTouch() || !(notification.getNotifier() instanceof EObject)) {
+         return;
+      }
+      modificationCount++;
+      EObject notifier = (EObject) notification.getNotifier();
+      if (notifier instanceof Diagram) {
+         // added or removed shapes and edges
+         touchNotation(notification.getOldValue());
+         touchNotation(notification.getNewValue());
+         return;
+      }
+      NotationElement notationElement = findNotationElement(notifier);
+      if (notationElement != null) {
+         touchNotation(notationElement);
+         return;
+      }
+      touch(notifier);
+      if (notifier instanceof Type && notification.getFeature() == UMLPackage.Literals.NAMED_ELEMENT__NAME) {
+         // type names are shown by the elements referencing the type, e.g. properties
+         modelIndex.get().getTypedElements((Type) notifier).forEach(this::touch);
+      }
+   }
+
+   // called for every object that is removed from the model, including its contents
+   @Override
+   protected void unsetTarget(final EObject target) {
+      super.unsetTarget(target);
+      stamps.remove(target);
+   }
+
+   protected NotationElement findNotationElement(final EObject eObject) {
+      EObject current = eObject;
+      while (current != null && !(current instanceof NotationElement)) {
+         current = current.eContainer();
+      }
+      return (NotationElement) current;
+   }
+
+   protected void touchNotation(final Object notationElement) {
+      if (notationElement instanceof NotationElement && !(notationElement instanceof Diagram)
+         && ((NotationElement) notationElement).getSemanticElement() != null) {
+         touch(((NotationElement) notationElement).getSemanticElement().getResolvedElement());
+      }
+   }
+
+   protected void touch(final EObject semanticElement) {
+      EObject current = semanticElement;
+      while (current != null) {
+         stamps.put(current, modificationCount);
+         current = current.eContainer();
+      }
+   }
+
+   public long getStamp(final EObject semanticElement) {
+      return stamps.getOrDefault(semanticElement, 0L);
+   }
+
+}
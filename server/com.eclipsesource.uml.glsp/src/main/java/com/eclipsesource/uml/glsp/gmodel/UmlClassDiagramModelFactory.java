@@ -13,12 +13,15 @@ package com.eclipsesource.uml.glsp.gmodel;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.glsp.graph.GGraph;
 import org.eclipse.glsp.graph.GModelElement;
 import org.eclipse.uml2.uml.Association;
 import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Classifier;
 import org.eclipse.uml2.uml.Enumeration;
 import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Relationship;
 
 import com.eclipsesource.uml.glsp.model.UmlModelState;
 import com.eclipsesource.uml.modelserver.unotation.Diagram;
@@ -29,6 +32,23 @@ public class UmlClassDiagramModelFactory extends GModelFactory {
       super(modelState);
    }
 
+   /**
+    * Maps an EObject to the corresponding create method.
+    */
+   @Override
+   public GModelElement create(final EObject semanticElement) {
+      GModelElement result = null;
+      if (semanticElement instanceof Relationship) {
+         result = relationshipEdgeFactory.create((Relationship) semanticElement);
+      } else if (semanticElement instanceof Classifier) {
+         result = classifierNodeFactory.create((Classifier) semanticElement);
+      }
+      if (result == null) {
+         throw createFailed(semanticElement);
+      }
+      return result;
+   }
+
    @Override
    public GGraph create(final Diagram umlDiagram) {
       GGraph graph = getOrCreateRoot();
@@ -42,7 +62,7 @@ public class UmlClassDiagramModelFactory extends GModelFactory {
          List<GModelElement> classNodes = umlModel.getPackagedElements().stream()
             .filter(Class.class::isInstance)
             .map(Class.class::cast)
-            .map(umlClass -> classifierNodeFactory.create(umlClass))
+            .map(this::createCached)
             .collect(Collectors.toList());
          graph.getChildren().addAll(classNodes);
 
@@ -50,7 +70,7 @@ public class UmlClassDiagramModelFactory extends GModelFactory {
          List<GModelElement> associationEdges = umlModel.getPackagedElements().stream()
             .filter(Association.class::isInstance)
             .map(Association.class::cast)
-            .map(association -> relationshipEdgeFactory.create(association))
+            .map(this::createCached)
             .collect(Collectors.toList());
          graph.getChildren().addAll(associationEdges);
 
@@ -58,7 +78,7 @@ public class UmlClassDiagramModelFactory extends GModelFactory {
          List<GModelElement> enumerationNodes = umlModel.getPackagedElements().stream()
             .filter(Enumeration.class::isInstance)
             .map(Enumeration.class::cast)
-            .map(umlEnumeration -> classifierNodeFactory.create(umlEnumeration))
+            .map(this::createCached)
             .collect(Collectors.toList());
          graph.getChildren().addAll(enumerationNodes);
       }
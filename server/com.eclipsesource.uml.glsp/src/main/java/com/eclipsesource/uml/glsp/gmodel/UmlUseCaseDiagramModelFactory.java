@@ -89,33 +89,33 @@ public class UmlUseCaseDiagramModelFactory extends GModelFactory {
          graph.getChildren().addAll(useCaseModel.getPackagedElements().stream()//
             .filter(Component.class::isInstance)//
             .map(Component.class::cast)//
-            .map(this::create)//
+            .map(this::createCached)//
             .collect(Collectors.toList()));
 
          graph.getChildren().addAll(useCaseModel.getPackagedElements().stream()//
             .filter(Package.class::isInstance)//
             .map(Package.class::cast)//
-            .map(this::create)//
+            .map(this::createCached)//
             .collect(Collectors.toList()));
 
          graph.getChildren().addAll(useCaseModel.getPackagedElements().stream()//
             .filter(UseCase.class::isInstance)//
             .filter(us -> us.eContainer().equals(useCaseModel))
             .map(UseCase.class::cast)//
-            .map(this::create)//
+            .map(this::createCached)//
             .collect(Collectors.toList()));
 
          graph.getChildren().addAll(useCaseModel.getPackagedElements().stream()//
             .filter(Actor.class::isInstance)//
             .filter(a -> a.eContainer().equals(useCaseModel))
             .map(Actor.class::cast)//
-            .map(this::create)//
+            .map(this::createCached)//
             .collect(Collectors.toList()));
 
          graph.getChildren().addAll(useCaseModel.getOwnedComments().stream() //
             .filter(Comment.class::isInstance)//
             .map(Comment.class::cast)//
-            .map(this::create)//
+            .map(this::createCached)//
             .collect(Collectors.toList()));
 
          // ArrayList<PackageableElement> packagedElements = new ArrayList<>(useCaseModel.getPackagedElements());
@@ -124,7 +124,7 @@ public class UmlUseCaseDiagramModelFactory extends GModelFactory {
          while (iterator.hasNext()) {
             Object next = iterator.next();
             if (next instanceof Relationship) {
-               graph.getChildren().add(create((Relationship) next));
+               graph.getChildren().add(createCached((Relationship) next));
             }
          }
 
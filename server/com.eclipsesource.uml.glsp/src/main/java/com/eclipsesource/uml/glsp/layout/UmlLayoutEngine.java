@@ -21,6 +21,10 @@ import org.eclipse.glsp.layout.ElkLayoutEngine;
 import org.eclipse.glsp.layout.GLSPLayoutConfigurator;
 import org.eclipse.glsp.server.model.GModelState;
 
+import com.eclipsesource.uml.glsp.gmodel.GModelFactory;
+import com.eclipsesource.uml.glsp.model.UmlModelState;
+import com.eclipsesource.uml.modelserver.metrics.LayoutEvent;
+
 public class UmlLayoutEngine extends ElkLayoutEngine {
 
    @Override
@@ -32,7 +36,15 @@ public class UmlLayoutEngine extends ElkLayoutEngine {
          configurator.configureByType(DefaultTypes.GRAPH)
             .setProperty(LayeredOptions.EDGE_LABELS_PLACEMENT, EdgeLabelPlacement.CENTER)
             .setProperty(LayeredOptions.EDGE_LABELS_SIDE_SELECTION, EdgeLabelSideSelection.ALWAYS_UP);
+         LayoutEvent event = new LayoutEvent();
+         event.begin();
          this.layout((GGraph) root, configurator);
+         event.end();
+         if (event.shouldCommit()) {
+            event.setModelUri(UmlModelState.getModelState(modelState).getModelUri());
+            event.setElements(GModelFactory.countElements(root));
+            event.commit();
+         }
       }
 
       // FIXME: missing implementation: layouting
@@ -0,0 +1,247 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.glsp.model;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.ecore.EObject;
+
+import com.eclipsesource.uml.modelserver.unotation.NotationElement;
+
+/**
+ * Compact storage for the {@link UmlModelIndex}. Every indexed semantic element gets a dense int handle, its id and
+ * notation element are stored in parallel arrays. Elements and ids are found through two open addressing tables
+ * (linear probing) that store handles only, elements are compared by identity. The ids are pooled: the first
+ * instance bound for an id is stored and handed out for every lookup, so GModel elements and the index share it.
+ * The {@link UmlModelIndex} binds the xmi:id instances of the resource, which therefore exist only once.
+ */
+final class SemanticIdTable {
+
+   private static final int DEFAULT_CAPACITY = 64;
+   private static final int NO_HANDLE = -1;
+
+   private EObject[] elements;
+   private String[] ids;
+   private NotationElement[] notations;
+   private int[] freeHandles;
+   private int freeCount;
+   private int handleCount;
+   private int size;
+
+   // slots contain handle + 1, 0 marks an empty slot
+   private int[] elementSlots;
+   private int[] idSlots;
+   private int idCount;
+
+   SemanticIdTable() {
+      clear();
+   }
+
+   void clear() {
+      elements = new EObject[DEFAULT_CAPACITY];
+      ids = new String[DEFAULT_CAPACITY];
+      notations = new NotationElement[DEFAULT_CAPACITY];
+      freeHandles = new int[DEFAULT_CAPACITY];
+      freeCount = 0;
+      handleCount = 0;
+      size = 0;
+      elementSlots = new int[DEFAULT_CAPACITY * 2];
+      idSlots = new int[DEFAULT_CAPACITY * 2];
+      idCount = 0;
+   }
+
+   int size() {
+      return size;
+   }
+
+   int lookup(final EObject element) {
+      if (element == null) {
+         return NO_HANDLE;
+      }
+      int mask = elementSlots.length - 1;
+      for (int slot = hash(element) & mask; elementSlots[slot] != 0; slot = (slot + 1) & mask) {
+         int handle = elementSlots[slot] - 1;
+         if (elements[handle] == element) {
+            return handle;
+         }
+      }
+      return NO_HANDLE;
+   }
+
+   int lookup(final String id) {
+      if (id == null) {
+         return NO_HANDLE;
+      }
+      int mask = idSlots.length - 1;
+      for (int slot = hash(id) & mask; idSlots[slot] != 0; slot = (slot + 1) & mask) {
+         int handle = idSlots[slot] - 1;
+         if (id.equals(ids[handle])) {
+            return handle;
+         }
+      }
+      return NO_HANDLE;
+   }
+
+   int getOrAdd(final EObject element) {
+      int handle = lookup(element);
+      if (handle != NO_HANDLE) {
+         return handle;
+      }
+      handle = freeCount > 0 ? freeHandles[--freeCount] : handleCount++;
+      if (handle >= elements.length) {
+         int capacity = elements.length * 2;
+         elements = Arrays.copyOf(elements, capacity);
+         ids = Arrays.copyOf(ids, capacity);
+         notations = Arrays.copyOf(notations, capacity);
+      }
+      elements[handle] = element;
+      size++;
+      if (size * 2 > elementSlots.length) {
+         elementSlots = new int[elementSlots.length * 2];
+         for (int i = 0; i < handleCount; i++) {
+            if (elements[i] != null) {
+               insert(elementSlots, hash(elements[i]), i);
+            }
+         }
+      } else {
+         insert(elementSlots, hash(element), handle);
+      }
+      return handle;
+   }
+
+   /**
+    * Binds the id to the element of the given handle, unless the element already has an id or the id is already
+    * bound to another element.
+    *
+    * @return the id bound to the handle
+    */
+   String bindId(final int handle, final String id) {
+      if (ids[handle] != null || id == null || lookup(id) != NO_HANDLE) {
+         return ids[handle];
+      }
+      ids[handle] = id;
+      idCount++;
+      if (idCount * 2 > idSlots.length) {
+         idSlots = new int[idSlots.length * 2];
+         for (int i = 0; i < handleCount; i++) {
+            if (ids[i] != null) {
+               insert(idSlots, hash(ids[i]), i);
+            }
+         }
+      } else {
+         insert(idSlots, hash(id), handle);
+      }
+      return id;
+   }
+
+   void unbindId(final int handle) {
+      if (ids[handle] == null) {
+         return;
+      }
+      delete(idSlots, hash(ids[handle]), handle, true);
+      ids[handle] = null;
+      idCount--;
+      releaseIfUnused(handle);
+   }
+
+   void forEachElement(final Consumer<EObject> consumer) {
+      for (int i = 0; i < handleCount; i++) {
+         if (elements[i] != null) {
+            consumer.accept(elements[i]);
+         }
+      }
+   }
+
+   EObject element(final int handle) {
+      return handle == NO_HANDLE ? null : elements[handle];
+   }
+
+   String id(final int handle) {
+      return handle == NO_HANDLE ? null : ids[handle];
+   }
+
+   NotationElement notation(final int handle) {
+      return handle == NO_HANDLE ? null : notations[handle];
+   }
+
+   void setNotation(final int handle, final NotationElement notation) {
+      notations[handle] = notation;
+      releaseIfUnused(handle);
+   }
+
+   private void releaseIfUnused(final int handle) {
+      if (ids[handle] != null || notations[handle] != null) {
+         return;
+      }
+      delete(elementSlots, hash(elements[handle]), handle, false);
+      elements[handle] = null;
+      size--;
+      if (freeCount == freeHandles.length) {
+         freeHandles = Arrays.copyOf(freeHandles, freeHandles.length * 2);
+      }
+      freeHandles[freeCount++] = handle;
+   }
+
+   private static void insert(final int[] slots, final int hash, final int handle) {
+      int mask = slots.length - 1;
+      int slot = hash & mask;
+      while (slots[slot] != 0) {
+         slot = (slot + 1) & mask;
+      }
+      slots[slot] = handle + 1;
+   }
+
+   /**
+    * Removes the handle from the table and moves the following entries of the probe sequence back, so no tombstones
+    * are needed.
+    */
+   private void delete(final int[] slots, final int hash, final int handle, final boolean idTable) {
+      int mask = slots.length - 1;
+      int slot = hash & mask;
+      while (slots[slot] != handle + 1) {
+         if (slots[slot] == 0) {
+            return;
+         }
+         slot = (slot + 1) & mask;
+      }
+      slots[slot] = 0;
+      int next = slot;
+      while (true) {
+         next = (next + 1) & mask;
+         if (slots[next] == 0) {
+            return;
+         }
+         int nextHandle = slots[next] - 1;
+         int home = (idTable ? hash(ids[nextHandle]) : hash(elements[nextHandle])) & mask;
+         boolean inPlace = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+         if (!inPlace) {
+            slots[slot] = slots[next];
+            slots[next] = 0;
+            slot = next;
+         }
+      }
+   }
+
+   private static int hash(final EObject element) {
+      return spread(System.identityHashCode(element));
+   }
+
+   private static int hash(final String id) {
+      return spread(id.hashCode());
+   }
+
+   private static int spread(final int hash) {
+      int h = hash * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+}
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.glsp.graph.GEdge;
@@ -70,6 +71,9 @@ public class UmlFacade {
       if (diagram == null) {
          createDiagram();
       }
+      if (isResolvedAgainstOtherModel(diagram)) {
+         unresolveAll(diagram);
+      }
       findUnresolvedElements(diagram).forEach(e -> e.setSemanticElement(resolved(e.getSemanticElement())));
       modelIndex.indexNotation(diagram);
       return diagram;
@@ -115,6 +119,24 @@ public class UmlFacade {
       return unresolved;
    }
 
+   /**
+    * A diagram that is reused from the cache of the UmlModelServerAccess may still be resolved against the previous
+    * revision of the semantic model.
+    */
+   private boolean isResolvedAgainstOtherModel(final Diagram diagram) {
+      SemanticProxy proxy = diagram.getSemanticElement();
+      return proxy != null && proxy.getResolvedElement() != null && proxy.getResolvedElement() != umlModel;
+   }
+
+   private void unresolveAll(final Diagram diagram) {
+      for (TreeIterator<EObject> contents = diagram.eAllContents(); contents.hasNext();) {
+         EObject element = contents.next();
+         if (element instanceof SemanticProxy) {
+            ((SemanticProxy) element).setResolvedElement(null);
+         }
+      }
+   }
+
    private Diagram createDiagram() {
       Diagram diagram = UnotationFactory.eINSTANCE.createDiagram();
       diagram.setSemanticElement(createProxy(umlModel));
@@ -0,0 +1,346 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.glsp.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emfcloud.modelserver.command.CCommand;
+import org.eclipse.emfcloud.modelserver.command.CCommandExecutionResult;
+import org.eclipse.emfcloud.modelserver.command.CCompoundCommand;
+import org.eclipse.emfcloud.modelserver.command.CommandExecutionType;
+import org.eclipse.glsp.graph.GDimension;
+import org.eclipse.glsp.graph.GEdge;
+import org.eclipse.glsp.graph.GLabel;
+import org.eclipse.glsp.graph.GModelElement;
+import org.eclipse.glsp.graph.GModelRoot;
+import org.eclipse.glsp.graph.GPoint;
+import org.eclipse.glsp.graph.GShapeElement;
+import org.eclipse.glsp.graph.util.GraphUtil;
+import org.eclipse.uml2.uml.Comment;
+import org.eclipse.uml2.uml.ExtensionPoint;
+import org.eclipse.uml2.uml.NamedElement;
+import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.Type;
+import org.eclipse.uml2.uml.TypedElement;
+
+import com.eclipsesource.uml.glsp.util.UmlIDUtil;
+import com.eclipsesource.uml.glsp.util.UmlLabelUtil;
+import com.eclipsesource.uml.modelserver.commands.contributions.ChangeBoundsCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.ChangeRoutingPointsCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.SetActorNameCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.SetAssociationEndNameCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.SetClassNameCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.SetCommentBodyCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.SetComponentNameCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.SetExtensionPointNameCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.SetPackageNameCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.SetUsecaseNameCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.UmlNotationCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.UmlSemanticCommandContribution;
+import com.eclipsesource.uml.modelserver.unotation.Edge;
+import com.eclipsesource.uml.modelserver.unotation.Shape;
+
+/**
+ * Applies the changes reported by the model server to the locally held UML model, so that a full reload of the
+ * semantic and notation model can be avoided for changes that do not alter the model structure.
+ * Only the top-level GModel elements that are affected by the change are regenerated, renamed elements only get
+ * their labels updated in place. Adding or removing elements is not handled and leads to a full refresh.
+ * Changes of the notation model (bounds and routing points) do not touch the semantic model at all and are patched
+ * directly into the diagram and the GModel.
+ */
+public class UmlModelChangeApplier {
+
+   private static Logger LOGGER = Logger.getLogger(UmlModelChangeApplier.class.getSimpleName());
+
+   private final UmlModelState modelState;
+
+   public UmlModelChangeApplier(final UmlModelState modelState) {
+      this.modelState = modelState;
+   }
+
+   /**
+    * Tries to apply the given command execution result to the local model and GModel.
+    *
+    * @param commandResult The result as reported by the model server.
+    * @return <code>true</code> if the change was applied, <code>false</code> if the model state has to be refreshed.
+    */
+   public boolean apply(final CCommandExecutionResult commandResult) {
+      // undo results carry the undone command, applying them would require the previous values
+      if (commandResult.getType() != CommandExecutionType.EXECUTE
+         && commandResult.getType() != CommandExecutionType.REDO) {
+         return false;
+      }
+      CCommand command = commandResult.getSource();
+      if (command == null || modelState.getUmlFacade() == null) {
+         return false;
+      }
+
+      Set<EObject> affectedElements = new LinkedHashSet<>();
+      try {
+         if (isNotationCommand(command)) {
+            return applyNotationCommand(command);
+         }
+         if (!applyCommand(command, affectedElements)) {
+            return false;
+         }
+         return regenerate(affectedElements);
+      } catch (RuntimeException e) {
+         LOGGER.warn("Could not apply incremental update of type " + command.getType(), e);
+         return false;
+      }
+   }
+
+   protected boolean applyCommand(final CCommand command, final Set<EObject> affectedElements) {
+      if (command instanceof CCompoundCommand && !((CCompoundCommand) command).getCommands().isEmpty()) {
+         for (CCommand subCommand : ((CCompoundCommand) command).getCommands()) {
+            if (!applyCommand(subCommand, affectedElements)) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      String type = command.getType();
+      String semanticUriFragment = command.getProperties().get(UmlSemanticCommandContribution.SEMANTIC_URI_FRAGMENT);
+      if (isSetNameCommand(type)) {
+         String newName = command.getProperties().get(SetActorNameCommandContribution.NEW_NAME);
+         // see SetNameCommand, empty names are ignored on the model server
+         return setName(semanticUriFragment, NamedElement.class, newName, newName != null && newName.length() > 0,
+            affectedElements);
+      } else if (SetClassNameCommandContribution.TYPE.equals(type)) {
+         // see SetClassNameCommand, the name is set unconditionally
+         return setName(semanticUriFragment, org.eclipse.uml2.uml.Class.class,
+            command.getProperties().get(SetClassNameCommandContribution.NEW_NAME), true, affectedElements);
+      } else if (SetAssociationEndNameCommandContribution.TYPE.equals(type)) {
+         // see SetAssociationEndNameCommand, the name is set unconditionally
+         return setName(semanticUriFragment, Property.class,
+            command.getProperties().get(SetAssociationEndNameCommandContribution.NEW_NAME), true, affectedElements);
+      } else if (SetCommentBodyCommandContribution.TYPE.equals(type)) {
+         String newBody = command.getProperties().get(SetCommentBodyCommandContribution.NEW_BODY);
+         Optional<Comment> comment = getSemanticElement(semanticUriFragment, Comment.class);
+         // see SetCommentBodyCommand, empty bodies are ignored on the model server
+         comment.filter(c -> newBody != null && newBody.length() > 0).ifPresent(c -> c.setBody(newBody));
+         comment.ifPresent(affectedElements::add);
+         return comment.isPresent();
+      }
+      return false;
+   }
+
+   protected boolean setName(final String semanticUriFragment, final Class<? extends NamedElement> clazz,
+      final String newName, final boolean apply, final Set<EObject> affectedElements) {
+      Optional<? extends NamedElement> element = getSemanticElement(semanticUriFragment, clazz);
+      if (element.isEmpty()) {
+         return false;
+      }
+      if (apply) {
+         element.get().setName(newName);
+      }
+      if (!updateNameLabels(element.get())) {
+         affectedElements.add(element.get());
+      }
+      if (element.get() instanceof Type) {
+         // the name of a type is also shown by the labels of the properties typed by it
+         for (TypedElement typedElement : modelState.getIndex().getTypedElements((Type) element.get())) {
+            if (typedElement instanceof Property) {
+               updateLabel(getSemanticId(typedElement), UmlLabelUtil.getPropertyLabel((Property) typedElement));
+            }
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Updates the labels showing the name of the given element in place, see LabelFactory, ClassifierNodeFactory and
+    * RelationshipEdgeFactory for the label ids.
+    *
+    * @return <code>false</code> if no label was found and the containing GModel element has to be regenerated.
+    */
+   protected boolean updateNameLabels(final NamedElement element) {
+      String id = getSemanticId(element);
+      if (element instanceof Property) {
+         // attributes are shown with their type and multiplicity, association ends by their name only
+         boolean attributeLabel = updateLabel(id, UmlLabelUtil.getPropertyLabel((Property) element));
+         boolean associationEndLabel = updateLabel(UmlIDUtil.createLabelNameId(id), element.getName());
+         return attributeLabel || associationEndLabel;
+      }
+      if (element instanceof ExtensionPoint) {
+         return updateLabel(id, element.getName());
+      }
+      return updateLabel(UmlIDUtil.createHeaderLabelId(id), element.getName());
+   }
+
+   protected boolean updateLabel(final String labelId, final String text) {
+      Optional<GLabel> label = modelState.getIndex().get(labelId)
+         .filter(GLabel.class::isInstance)
+         .map(GLabel.class::cast);
+      label.ifPresent(l -> l.setText(text));
+      return label.isPresent();
+   }
+
+   protected boolean isNotationCommand(final CCommand command) {
+      return ChangeBoundsCommandContribution.TYPE.equals(command.getType())
+         || ChangeRoutingPointsCommandContribution.TYPE.equals(command.getType());
+   }
+
+   /**
+    * Updates the shapes and edges of the local diagram and the bounds and routing points of the corresponding GModel
+    * elements, see ChangeBoundsCommandContribution and ChangeRoutingPointsCommandContribution for the command layout.
+    */
+   protected boolean applyNotationCommand(final CCommand command) {
+      if (!(command instanceof CCompoundCommand)) {
+         return false;
+      }
+      for (CCommand elementCommand : ((CCompoundCommand) command).getCommands()) {
+         String semanticProxyUri = elementCommand.getProperties()
+            .get(UmlNotationCommandContribution.SEMANTIC_PROXI_URI);
+         if (ChangeBoundsCommandContribution.TYPE.equals(command.getType())) {
+            Optional<Shape> shape = modelState.getIndex().getNotation(semanticProxyUri, Shape.class);
+            if (shape.isEmpty()) {
+               return false;
+            }
+            changeBounds(shape.get(), semanticProxyUri,
+               toPoint(elementCommand, UmlNotationCommandContribution.POSITION_X,
+                  UmlNotationCommandContribution.POSITION_Y),
+               GraphUtil.dimension(
+                  toDouble(elementCommand.getProperties().get(UmlNotationCommandContribution.WIDTH)),
+                  toDouble(elementCommand.getProperties().get(UmlNotationCommandContribution.HEIGHT))));
+         } else {
+            Optional<Edge> edge = modelState.getIndex().getNotation(semanticProxyUri, Edge.class);
+            if (edge.isEmpty() || !(elementCommand instanceof CCompoundCommand)) {
+               return false;
+            }
+            List<GPoint> routingPoints = new ArrayList<>();
+            ((CCompoundCommand) elementCommand).getCommands()
+               .forEach(pointCommand -> routingPoints.add(toPoint(pointCommand,
+                  UmlNotationCommandContribution.POSITION_X, UmlNotationCommandContribution.POSITION_Y)));
+            changeRoutingPoints(edge.get(), semanticProxyUri, routingPoints);
+         }
+      }
+      return true;
+   }
+
+   protected void changeBounds(final Shape shape, final String semanticProxyUri, final GPoint position,
+      final GDimension size) {
+      shape.setPosition(position);
+      shape.setSize(size);
+      // same as ClassifierNodeFactory#applyShapeData, the size is computed by the client
+      modelState.getIndex().get(semanticProxyUri)
+         .filter(GShapeElement.class::isInstance)
+         .map(GShapeElement.class::cast)
+         .ifPresent(shapeElement -> shapeElement.setPosition(GraphUtil.copy(position)));
+   }
+
+   protected void changeRoutingPoints(final Edge edge, final String semanticProxyUri,
+      final List<GPoint> routingPoints) {
+      edge.getBendPoints().clear();
+      edge.getBendPoints().addAll(routingPoints);
+      modelState.getIndex().get(semanticProxyUri)
+         .filter(GEdge.class::isInstance)
+         .map(GEdge.class::cast)
+         .ifPresent(gEdge -> {
+            gEdge.getRoutingPoints().clear();
+            routingPoints.forEach(point -> gEdge.getRoutingPoints().add(GraphUtil.copy(point)));
+         });
+   }
+
+   protected GPoint toPoint(final CCommand command, final String propertyX, final String propertyY) {
+      return GraphUtil.point(toDouble(command.getProperties().get(propertyX)),
+         toDouble(command.getProperties().get(propertyY)));
+   }
+
+   protected double toDouble(final String property) {
+      return property == null || property.isEmpty() ? 0.0d : Double.parseDouble(property);
+   }
+
+   protected boolean isSetNameCommand(final String type) {
+      return SetActorNameCommandContribution.TYPE.equals(type)
+         || SetUsecaseNameCommandContribution.TYPE.equals(type)
+         || SetComponentNameCommandContribution.TYPE.equals(type)
+         || SetPackageNameCommandContribution.TYPE.equals(type)
+         || SetExtensionPointNameCommandContribution.TYPE.equals(type);
+   }
+
+   protected <T extends EObject> Optional<T> getSemanticElement(final String semanticUriFragment,
+      final Class<T> clazz) {
+      if (semanticUriFragment == null) {
+         return Optional.empty();
+      }
+      Optional<EObject> element = modelState.getIndex().getSemantic(semanticUriFragment);
+      if (element.isEmpty()) {
+         // The xmi:id is used as URI to identify UML elements, we use the underlying resource to fetch uml elements
+         element = Optional.ofNullable(
+            modelState.getUmlFacade().getUmlModel().eResource().getEObject(semanticUriFragment));
+      }
+      return element.filter(clazz::isInstance).map(clazz::cast);
+   }
+
+   /**
+    * Replaces the top-level GModel elements that contain one of the given semantic elements with newly created ones.
+    */
+   protected boolean regenerate(final Set<EObject> affectedElements) {
+      if (affectedElements.isEmpty()) {
+         return true;
+      }
+      GModelRoot root = modelState.getRoot();
+      Set<GModelElement> topLevelElements = new LinkedHashSet<>();
+      for (EObject semanticElement : affectedElements) {
+         Optional<GModelElement> topLevelElement = findTopLevelElement(root, semanticElement);
+         if (topLevelElement.isEmpty()) {
+            return false;
+         }
+         topLevelElements.add(topLevelElement.get());
+      }
+
+      List<GModelElement> children = root.getChildren();
+      for (GModelElement topLevelElement : topLevelElements) {
+         Optional<EObject> semanticElement = modelState.getIndex().getSemantic(topLevelElement);
+         if (semanticElement.isEmpty()) {
+            return false;
+         }
+         GModelElement newElement = modelState.getGModelFactory().create(semanticElement.get());
+         if (newElement == null) {
+            return false;
+         }
+         children.set(children.indexOf(topLevelElement), newElement);
+      }
+      modelState.getUmlFacade().initialize(root);
+      return true;
+   }
+
+   protected Optional<GModelElement> findTopLevelElement(final GModelRoot root, final EObject semanticElement) {
+      EObject current = semanticElement;
+      while (current != null) {
+         Optional<GModelElement> element = modelState.getIndex().get(getSemanticId(current));
+         if (element.isPresent()) {
+            GModelElement topLevelElement = element.get();
+            while (topLevelElement.getParent() != null && topLevelElement.getParent() != root) {
+               topLevelElement = topLevelElement.getParent();
+            }
+            return Optional.of(topLevelElement).filter(e -> e.getParent() == root);
+         }
+         current = current.eContainer();
+      }
+      return Optional.empty();
+   }
+
+   protected String getSemanticId(final EObject semanticElement) {
+      return modelState.getIndex().getSemanticId(semanticElement)
+         .orElseGet(() -> EcoreUtil.getURI(semanticElement).fragment());
+   }
+
+}
@@ -10,26 +10,29 @@
  ********************************************************************************/
 package com.eclipsesource.uml.glsp.model;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.glsp.graph.GModelElement;
 import org.eclipse.glsp.graph.impl.GModelIndexImpl;
+import org.eclipse.uml2.uml.Type;
+import org.eclipse.uml2.uml.TypedElement;
 
 import com.eclipsesource.uml.modelserver.unotation.Diagram;
 import com.eclipsesource.uml.modelserver.unotation.NotationElement;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 
 public class UmlModelIndex extends GModelIndexImpl {
-   private final BiMap<String, EObject> semanticIndex;
-   private final BiMap<EObject, NotationElement> notationIndex;
+   // semantic ids and notation elements, see SemanticIdTable
+   private final SemanticIdTable semanticIndex;
 
    private UmlModelIndex(final EObject target) {
       super(target);
-      semanticIndex = HashBiMap.create();
-      notationIndex = HashBiMap.create();
+      semanticIndex = new SemanticIdTable();
    }
 
    public static UmlModelIndex get(final GModelElement element) {
@@ -49,18 +52,38 @@ public class UmlModelIndex extends GModelIndexImpl {
 
    public void clear() {
       this.semanticIndex.clear();
-      this.notationIndex.clear();
    }
 
-   public void indexSemantic(final String id, final EObject semanticElement) {
-      semanticIndex.putIfAbsent(id, semanticElement);
+   /**
+    * Returns the number of indexed semantic elements.
+    */
+   public int size() {
+      return semanticIndex.size();
+   }
+
+   /**
+    * Indexes the semantic element under the given id, unless the id is already taken.
+    *
+    * @return the pooled instance of the id that is bound to the element
+    */
+   public String indexSemantic(final String id, final EObject semanticElement) {
+      int handle = semanticIndex.lookup(id);
+      if (handle >= 0) {
+         return semanticIndex.id(handle);
+      }
+      return semanticIndex.bindId(semanticIndex.getOrAdd(semanticElement), id);
    }
 
    public void indexNotation(final NotationElement notationElement) {
-      if (notationElement.getSemanticElement() != null) {
+      if (notationElement.getSemanticElement() != null
+         && notationElement.getSemanticElement().getResolvedElement() != null) {
          EObject semanticElement = notationElement.getSemanticElement().getResolvedElement();
-         notationIndex.put(semanticElement, notationElement);
-         semanticIndex.inverse().putIfAbsent(semanticElement, EcoreUtil.getURI(semanticElement).fragment());
+         int handle = semanticIndex.getOrAdd(semanticElement);
+         semanticIndex.setNotation(handle, notationElement);
+         // only compute the id of elements that are not indexed yet
+         if (semanticIndex.id(handle) == null) {
+            semanticIndex.bindId(handle, computeId(semanticElement));
+         }
       }
 
       if (notationElement instanceof Diagram) {
@@ -69,15 +92,29 @@ public class UmlModelIndex extends GModelIndexImpl {
    }
 
    public Optional<EObject> getSemantic(final String id) {
-      return Optional.ofNullable(semanticIndex.get(id));
+      return Optional.ofNullable(semanticIndex.element(semanticIndex.lookup(id)));
    }
 
    public Optional<String> getSemanticId(final EObject semanticElement) {
-      return Optional.ofNullable(semanticIndex.inverse().get(semanticElement));
+      return Optional.ofNullable(semanticIndex.id(semanticIndex.lookup(semanticElement)));
+   }
+
+   /**
+    * Returns the indexed typed elements that reference the given type. These are the elements that render the name
+    * of the type, e.g. the labels of properties.
+    */
+   public List<TypedElement> getTypedElements(final Type type) {
+      List<TypedElement> typedElements = new ArrayList<>();
+      semanticIndex.forEachElement(element -> {
+         if (element instanceof TypedElement && ((TypedElement) element).getType() == type) {
+            typedElements.add((TypedElement) element);
+         }
+      });
+      return typedElements;
    }
 
    public <T extends EObject> Optional<T> getSemantic(final String id, final Class<T> clazz) {
-      return safeCast(Optional.ofNullable(semanticIndex.get(id)), clazz);
+      return safeCast(getSemantic(id), clazz);
    }
 
    public Optional<EObject> getSemantic(final GModelElement gModelElement) {
@@ -89,7 +126,7 @@ public class UmlModelIndex extends GModelIndexImpl {
    }
 
    public Optional<NotationElement> getNotation(final EObject semanticElement) {
-      return Optional.ofNullable(notationIndex.get(semanticElement));
+      return Optional.ofNullable(semanticIndex.notation(semanticIndex.lookup(semanticElement)));
    }
 
    public <T extends NotationElement> Optional<T> getNotation(final EObject semanticElement, final Class<T> clazz) {
@@ -124,12 +161,14 @@ public class UmlModelIndex extends GModelIndexImpl {
       if (eObject instanceof NotationElement) {
          EObject semanticElement = ((NotationElement) eObject).getSemanticElement().getResolvedElement();
          id = add(semanticElement);
-         notationIndex.putIfAbsent(semanticElement, (NotationElement) eObject);
+         int handle = semanticIndex.getOrAdd(semanticElement);
+         if (semanticIndex.notation(handle) == null) {
+            semanticIndex.setNotation(handle, (NotationElement) eObject);
+         }
       } else {
          id = getSemanticId(eObject).orElse(null);
          if (id == null) {
-            id = EcoreUtil.getURI(eObject).fragment();
-            indexSemantic(id, eObject);
+            id = indexSemantic(computeId(eObject), eObject);
          }
       }
       return id;
@@ -139,14 +178,34 @@ public class UmlModelIndex extends GModelIndexImpl {
    public void remove(final EObject eObject) {
       if (eObject instanceof NotationElement) {
          EObject semanticElement = ((NotationElement) eObject).getSemanticElement().getResolvedElement();
-         notationIndex.remove(semanticElement);
+         int handle = semanticIndex.lookup(semanticElement);
+         if (handle >= 0) {
+            semanticIndex.setNotation(handle, null);
+         }
          remove(semanticElement);
          return;
       } else if (eObject instanceof GModelElement) {
          // do nothing;
          return;
       }
-      semanticIndex.inverse().remove(eObject);
+      int handle = semanticIndex.lookup(eObject);
+      if (handle >= 0) {
+         semanticIndex.unbindId(handle);
+      }
+   }
+
+   protected String computeId(final EObject semanticElement) {
+      Resource resource = semanticElement.eResource();
+      if (resource instanceof XMLResource) {
+         // the xmi:id instance held by the resource, so the resource and the index share one string per element
+         String id = ((XMLResource) resource).getID(semanticElement);
+         if (id != null) {
+            return id;
+         }
+      }
+      // same as EcoreUtil.getURI(semanticElement).fragment() without creating the resource URI
+      return resource != null ? resource.getURIFragment(semanticElement)
+         : EcoreUtil.getURI(semanticElement).fragment();
    }
 
 }
@@ -20,26 +20,43 @@ import org.eclipse.glsp.server.actions.ActionDispatcher;
 import org.eclipse.glsp.server.actions.SetDirtyStateAction;
 import org.eclipse.glsp.server.features.core.model.RequestBoundsAction;
 
+import com.eclipsesource.uml.modelserver.metrics.UmlCorrelation;
+
 public class UmlModelServerSubscriptionListener extends XmiToEObjectSubscriptionListener {
 
    private static Logger LOGGER = Logger.getLogger(UmlModelServerSubscriptionListener.class.getSimpleName());
    private final ActionDispatcher actionDispatcher;
    private final UmlModelState modelState;
+   private final UmlModelChangeApplier changeApplier;
 
    public UmlModelServerSubscriptionListener(final UmlModelState modelState, final ActionDispatcher actionDispatcher) {
       this.actionDispatcher = actionDispatcher;
       this.modelState = modelState;
+      this.changeApplier = new UmlModelChangeApplier(modelState);
    }
 
    @Override
    public void onIncrementalUpdate(final CCommandExecutionResult commandResult) {
       LOGGER.debug("Incremental update from model server received: " + commandResult);
+      long start = System.nanoTime();
+      String correlationId = UmlCorrelation.get(commandResult.getSource()).orElse(null);
+      String modelUri = modelState.getModelUri();
+      UmlCorrelation.log(correlationId, UmlCorrelation.RECEIVE, modelUri, modelState.getClientId());
 
-      // Currently reload the models, we might consider applying the change recordings instead
-      modelState.refresh();
-
-      GModelRoot gmodelRoot = modelState.getGModelFactory().create();
+      GModelRoot gmodelRoot;
+      String refresh;
+      if (changeApplier.apply(commandResult)) {
+         gmodelRoot = modelState.getRoot();
+         refresh = "incremental";
+      } else {
+         // the change could not be applied to the local model, reload the models
+         modelState.refresh();
+         gmodelRoot = modelState.getGModelFactory().create();
+         refresh = "full";
+      }
       modelState.setRoot(gmodelRoot);
+      modelState.setCorrelationId(correlationId);
+      UmlCorrelation.log(correlationId, UmlCorrelation.REFRESH, modelUri, refresh, start);
 
       actionDispatcher.dispatch(modelState.getClientId(), new RequestBoundsAction(gmodelRoot));
 
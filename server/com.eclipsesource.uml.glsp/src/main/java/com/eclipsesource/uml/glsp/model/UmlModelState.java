@@ -11,7 +11,11 @@
 package com.eclipsesource.uml.glsp.model;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.glsp.graph.GModelRoot;
 import org.eclipse.glsp.server.model.GModelState;
@@ -22,14 +26,20 @@ import org.eclipse.uml2.uml.Model;
 import com.eclipsesource.uml.glsp.gmodel.GModelFactory;
 import com.eclipsesource.uml.glsp.gmodel.GModelFactoryProvider;
 import com.eclipsesource.uml.glsp.modelserver.UmlModelServerAccess;
+import com.eclipsesource.uml.modelserver.metrics.ModelIndexEvent;
+import com.eclipsesource.uml.modelserver.metrics.UmlCorrelation;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
 import com.eclipsesource.uml.modelserver.unotation.Diagram;
 
 public class UmlModelState extends GModelStateImpl {
 
+   private static Logger LOGGER = Logger.getLogger(UmlModelState.class.getSimpleName());
+
    private UmlModelServerAccess modelServerAccess;
    private GModelFactory gModelFactory;
    private UmlFacade umlFacade;
    private GModelRoot gModelRoot;
+   private String correlationId;
 
    public static UmlModelState getModelState(final GModelState state) {
       if (!(state instanceof UmlModelState)) {
@@ -48,26 +58,68 @@ public class UmlModelState extends GModelStateImpl {
    }
 
    public void refresh() {
-      initializeUmlFacade();
-      initializeGModelRoot();
+      UmlMetrics.timer(UmlMetrics.REFRESH, UmlMetrics.TAG_MODEL, getModelUri()).record(() -> {
+         initializeUmlFacade();
+         initializeGModelRoot();
+      });
    }
 
+   /**
+    * Fetches and decodes the semantic and the notation model concurrently and creates the UmlFacade once both are
+    * available. The duration of each step is logged on debug level.
+    * The calling thread waits for the facade: the GLSP 0.8 ModelFactory#loadModel has to return the GModel root and a
+    * refresh has to complete before the next change of the model server subscription is applied.
+    */
    private void initializeUmlFacade() {
-      EObject semanticRoot = modelServerAccess.getModel();
+      long start = System.nanoTime();
+      CompletableFuture<EObject> semanticModel = modelServerAccess.getModelAsync()
+         .whenComplete((model, error) -> logLoadTime("Semantic model loaded", start));
+      CompletableFuture<EObject> notationModel = modelServerAccess.getNotationModelAsync()
+         .whenComplete((model, error) -> logLoadTime("Notation model loaded", start));
+
+      try {
+         this.umlFacade = semanticModel.thenCombine(notationModel, this::createUmlFacade).get();
+         logLoadTime("UmlFacade initialized", start);
+      } catch (InterruptedException | ExecutionException e) {
+         if (e.getCause() instanceof GLSPServerException) {
+            throw (GLSPServerException) e.getCause();
+         }
+         LOGGER.error(e);
+         throw new GLSPServerException("Error during model loading", e);
+      }
+   }
+
+   private UmlFacade createUmlFacade(final EObject semanticRoot, final EObject notationRoot) {
       if (!(semanticRoot instanceof Model)) {
          throw new GLSPServerException("Error during UML model loading");
       }
-
-      EObject notationRoot = modelServerAccess.getNotationModel();
       if (notationRoot != null && !(notationRoot instanceof Diagram)) {
          throw new GLSPServerException("Error during UML diagram loading");
       }
+      long start = System.nanoTime();
+      ModelIndexEvent event = new ModelIndexEvent();
+      event.begin();
       // Clear modelIndex
       UmlModelIndex modelIndex = getIndex();
       modelIndex.clear();
 
       // If notationRoot is null it will be initialized in UmlFacade
-      this.umlFacade = new UmlFacade((Model) semanticRoot, (Diagram) notationRoot, modelIndex);
+      UmlFacade facade = new UmlFacade((Model) semanticRoot, (Diagram) notationRoot, modelIndex);
+      event.end();
+      if (event.shouldCommit()) {
+         event.setModelUri(getModelUri());
+         event.setElements(modelIndex.size());
+         event.commit();
+      }
+      logLoadTime("UmlFacade created", start);
+      return facade;
+   }
+
+   private void logLoadTime(final String step, final long start) {
+      if (LOGGER.isDebugEnabled()) {
+         LOGGER.debug(String.format("%s after %d ms [%s]", step,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), modelServerAccess.getSemanticURI()));
+      }
    }
 
    public UmlFacade getUmlFacade() { return umlFacade; }
@@ -88,6 +140,21 @@ public class UmlModelState extends GModelStateImpl {
 
    public UmlModelServerAccess getModelServerAccess() { return modelServerAccess; }
 
+   /**
+    * Returns the correlation ID of the model change that is currently submitted to the client, see
+    * {@link UmlCorrelation}.
+    */
+   public String getCorrelationId() { return correlationId; }
+
+   public void setCorrelationId(final String correlationId) { this.correlationId = correlationId; }
+
+   /**
+    * Returns the URI of the semantic model, which identifies the model in metrics and logs.
+    */
+   public String getModelUri() {
+      return modelServerAccess == null ? "unknown" : modelServerAccess.getSemanticURI();
+   }
+
    private void initializeGModelRoot() {
       GModelRoot gmodelRoot = gModelFactory.create();
       getUmlFacade().initialize(gmodelRoot);
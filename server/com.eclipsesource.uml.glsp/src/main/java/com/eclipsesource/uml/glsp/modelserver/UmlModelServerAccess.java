@@ -10,11 +10,14 @@
  ********************************************************************************/
 package com.eclipsesource.uml.glsp.modelserver;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.TreeIterator;
@@ -74,6 +77,7 @@ import com.eclipsesource.uml.modelserver.commands.contributions.RemoveClassComma
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveCommentCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveCommentEdgeCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveComponentCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.RemoveElementsCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveExtendCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveExtensionPointCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveGeneralizationCommandContribution;
@@ -90,6 +94,8 @@ import com.eclipsesource.uml.modelserver.commands.contributions.SetExtensionPoin
 import com.eclipsesource.uml.modelserver.commands.contributions.SetPackageNameCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.SetPropertyCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.SetUsecaseNameCommandContribution;
+import com.eclipsesource.uml.modelserver.metrics.UmlCorrelation;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
 import com.eclipsesource.uml.modelserver.unotation.Edge;
 import com.eclipsesource.uml.modelserver.unotation.Shape;
 import com.google.common.base.Preconditions;
@@ -112,6 +118,9 @@ public class UmlModelServerAccess {
    private final UmlModelServerClient modelServerClient;
    private NotificationSubscriptionListener<EObject> subscriptionListener;
 
+   // decoded models are modified by the UmlFacade, therefore the cache is not shared between client sessions
+   private final Map<String, CachedModel> modelCache = new ConcurrentHashMap<>();
+
    public UmlModelServerAccess(final String sourceURI, final UmlModelServerClient modelServerClient) {
       Preconditions.checkNotNull(modelServerClient);
       this.baseSourceUri = URI.createURI(sourceURI, true).trimFileExtension();
@@ -126,18 +135,52 @@ public class UmlModelServerAccess {
 
    public ModelServerClientApi<EObject> getModelServerClient() { return modelServerClient; }
 
-   public EObject getModel() {
-      try {
-         return modelServerClient.get(getSemanticURI(), UMLResource.FILE_EXTENSION).thenApply(res -> res.body()).get();
-      } catch (InterruptedException | ExecutionException e) {
-         LOGGER.error(e);
-         throw new GLSPServerException("Error during model loading", e);
-      }
+   public EObject getModel() { return getResult(getModelAsync()); }
+
+   public EObject getNotationModel() { return getResult(getNotationModelAsync()); }
+
+   public CompletableFuture<EObject> getModelAsync() {
+      return getModelAsync(getSemanticURI(), UMLResource.FILE_EXTENSION);
    }
 
-   public EObject getNotationModel() {
+   public CompletableFuture<EObject> getNotationModelAsync() { return getModelAsync(getNotationURI(), FORMAT_XMI); }
+
+   /**
+    * Returns the decoded model for the given URI. The model is only fetched from the model server if its revision
+    * changed since the last call, otherwise the previously decoded model is reused.
+    */
+   protected CompletableFuture<EObject> getModelAsync(final String modelUri, final String format) {
+      // the revision is requested before the model, so a concurrent change can only invalidate the cache entry
+      return measure(() -> getModelRevision(modelUri).thenCompose(revision -> {
+         CachedModel cachedModel = modelCache.get(modelUri);
+         if (revision.isPresent() && cachedModel != null && cachedModel.revision.equals(revision.get())) {
+            LOGGER.debug("Model " + modelUri + " not modified since revision " + cachedModel.revision);
+            return CompletableFuture.completedFuture(cachedModel.model);
+         }
+         return modelServerClient.get(modelUri, format).thenApply(res -> {
+            EObject model = res.body();
+            if (revision.isPresent() && model != null) {
+               modelCache.put(modelUri, new CachedModel(revision.get(), model));
+            } else {
+               modelCache.remove(modelUri);
+            }
+            return model;
+         });
+      }), "get", format, modelUri);
+   }
+
+   protected CompletableFuture<Optional<String>> getModelRevision(final String modelUri) {
+      return modelServerClient.getModelRevision(modelUri)
+         .thenApply(res -> Optional.ofNullable(res.body()))
+         .exceptionally(e -> {
+            LOGGER.debug("Could not fetch revision of " + modelUri + ", cache is bypassed", e);
+            return Optional.empty();
+         });
+   }
+
+   protected EObject getResult(final CompletableFuture<EObject> model) {
       try {
-         return modelServerClient.get(getNotationURI(), FORMAT_XMI).thenApply(res -> res.body()).get();
+         return model.get();
       } catch (InterruptedException | ExecutionException e) {
          LOGGER.error(e);
          throw new GLSPServerException("Error during model loading", e);
@@ -168,6 +211,11 @@ public class UmlModelServerAccess {
       return this.modelServerClient.getUmlTypes(getSemanticURI());
    }
 
+   public CompletableFuture<Response<List<String>>> getUmlTypes(final String prefix, final int offset,
+      final int limit) {
+      return this.modelServerClient.getUmlTypes(getSemanticURI(), prefix, offset, limit);
+   }
+
    /*
     * UML Class
     */
@@ -492,6 +540,11 @@ public class UmlModelServerAccess {
    }
 
    public CompletableFuture<Response<Boolean>> removeCommentEdge(final UmlModelState modelState,
+      final String commentEdgeUri) {
+      return createRemoveCommentEdgeCommand(modelState, commentEdgeUri).map(this::edit).orElse(null);
+   }
+
+   protected Optional<CCommand> createRemoveCommentEdgeCommand(final UmlModelState modelState,
       final String commentEdgeUri) {
       GModelRoot model = modelState.getRoot();
       TreeIterator iterator = model.eAllContents();
@@ -502,15 +555,13 @@ public class UmlModelServerAccess {
             if (cur.getId().equals(commentEdgeUri)) {
                GModelElement parent = cur.getParent();
                String targetId = cur.getTargetId() != parent.getId() ? cur.getTargetId() : cur.getSourceId();
-               System.out.println("Parent " + parent.getId());
-               System.out.println("Target " + targetId);
-               CCompoundCommand removeCommentEdgeCompoundCommand = RemoveCommentEdgeCommandContribution
-                  .create(parent.getId().toString(), targetId.toString());
-               return this.edit(removeCommentEdgeCompoundCommand);
+               LOGGER.debug("Remove comment edge from " + parent.getId() + " to " + targetId);
+               return Optional.of(RemoveCommentEdgeCommandContribution
+                  .create(parent.getId().toString(), targetId.toString()));
             }
          }
       }
-      return null;
+      return Optional.empty();
    }
 
    /*
@@ -591,6 +642,55 @@ public class UmlModelServerAccess {
       return this.edit(compoundCommand);
    }
 
+   /*
+    * Batch delete
+    */
+   /**
+    * Removes the given semantic elements and comment edges with a single command on the model server.
+    * Elements that are removed together with one of their containers are skipped on the model server.
+    */
+   public CompletableFuture<Response<Boolean>> removeElements(final UmlModelState modelState,
+      final List<EObject> elementsToRemove, final List<String> commentEdgeIds) {
+
+      List<CCommand> removeCommands = new ArrayList<>();
+      elementsToRemove.forEach(element -> createRemoveCommand(element).ifPresent(removeCommands::add));
+      commentEdgeIds.forEach(
+         commentEdgeId -> createRemoveCommentEdgeCommand(modelState, commentEdgeId).ifPresent(removeCommands::add));
+      return this.edit(RemoveElementsCommandContribution.create(removeCommands));
+   }
+
+   protected Optional<CCommand> createRemoveCommand(final EObject element) {
+      String semanticUri = getSemanticUriFragment(element);
+      CCommand removeCommand = null;
+      if (element instanceof Component) {
+         removeCommand = RemoveComponentCommandContribution.create(semanticUri);
+      } else if (element instanceof Class) {
+         removeCommand = RemoveClassCommandContribution.create(semanticUri);
+      } else if (element instanceof Comment) {
+         removeCommand = RemoveCommentCommandContribution.create(semanticUri);
+      } else if (element instanceof Property && element.eContainer() instanceof Class) {
+         removeCommand = RemovePropertyCommandContribution.create(getSemanticUriFragment(element.eContainer()),
+            semanticUri);
+      } else if (element instanceof Association) {
+         removeCommand = RemoveAssociationCommandContribution.create(semanticUri);
+      } else if (element instanceof Package) {
+         removeCommand = RemovePackageCommandContribution.create(semanticUri);
+      } else if (element instanceof Actor) {
+         removeCommand = RemoveActorCommandContribution.create(semanticUri);
+      } else if (element instanceof UseCase) {
+         removeCommand = RemoveUsecaseCommandContribution.create(semanticUri);
+      } else if (element instanceof ExtensionPoint) {
+         removeCommand = RemoveExtensionPointCommandContribution.create(semanticUri);
+      } else if (element instanceof Extend) {
+         removeCommand = RemoveExtendCommandContribution.create(semanticUri);
+      } else if (element instanceof Include) {
+         removeCommand = RemoveIncludeCommandContribution.create(semanticUri);
+      } else if (element instanceof Generalization) {
+         removeCommand = RemoveGeneralizationCommandContribution.create(semanticUri);
+      }
+      return Optional.ofNullable(removeCommand);
+   }
+
    /*
     * END UML USE CASE DIAGRAM
     */
@@ -625,13 +725,36 @@ public class UmlModelServerAccess {
       return this.edit(compoundCommand);
    }
 
+   /**
+    * Sends the command to the model server, stamped with a correlation ID that is logged back by the model server and
+    * the subscription listener.
+    */
    protected CompletableFuture<Response<Boolean>> edit(final CCommand command) {
-      return this.modelServerClient.edit(getSemanticURI(), command, FORMAT_XMI);
+      String correlationId = UmlCorrelation.stamp(command);
+      UmlCorrelation.log(correlationId, UmlCorrelation.SEND, getSemanticURI(), command.getType());
+      return measure(() -> this.modelServerClient.edit(getSemanticURI(), command, FORMAT_XMI), "edit",
+         command.getType(), getSemanticURI());
+   }
+
+   /**
+    * Records the latency of the given model server request, and counts it as error if it completes exceptionally.
+    */
+   protected <T> CompletableFuture<T> measure(final Supplier<CompletableFuture<T>> request, final String call,
+      final String type, final String modelUri) {
+      String[] tags = { UmlMetrics.TAG_CALL, call, UmlMetrics.TAG_TYPE, type, UmlMetrics.TAG_MODEL, modelUri };
+      long start = System.nanoTime();
+      return request.get().whenComplete((result, error) -> {
+         UmlMetrics.timer(UmlMetrics.MODEL_SERVER_REQUEST, tags).recordSince(start);
+         if (error != null) {
+            UmlMetrics.counter(UmlMetrics.MODEL_SERVER_ERRORS, tags).increment();
+         }
+      });
    }
 
    public boolean save() {
       try {
-         return this.modelServerClient.save(getSemanticURI()).thenApply(res -> res.body()).get();
+         return measure(() -> this.modelServerClient.save(getSemanticURI()), "save", "save", getSemanticURI())
+            .thenApply(res -> res.body()).get();
       } catch (InterruptedException | ExecutionException e) {
          return false;
       }
@@ -639,7 +762,8 @@ public class UmlModelServerAccess {
 
    public boolean undo() {
       try {
-         return this.modelServerClient.undo(getSemanticURI()).thenApply(res -> res.body()).get();
+         return measure(() -> this.modelServerClient.undo(getSemanticURI()), "undo", "undo", getSemanticURI())
+            .thenApply(res -> res.body()).get();
       } catch (InterruptedException | ExecutionException e) {
          return false;
       }
@@ -647,10 +771,21 @@ public class UmlModelServerAccess {
 
    public boolean redo() {
       try {
-         return this.modelServerClient.redo(getSemanticURI()).thenApply(res -> res.body()).get();
+         return measure(() -> this.modelServerClient.redo(getSemanticURI()), "redo", "redo", getSemanticURI())
+            .thenApply(res -> res.body()).get();
       } catch (InterruptedException | ExecutionException e) {
          return false;
       }
    }
 
+   private static class CachedModel {
+      private final String revision;
+      private final EObject model;
+
+      CachedModel(final String revision, final EObject model) {
+         this.revision = revision;
+         this.model = model;
+      }
+   }
+
 }
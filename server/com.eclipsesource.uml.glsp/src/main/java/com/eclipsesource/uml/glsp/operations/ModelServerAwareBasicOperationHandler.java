@@ -17,6 +17,7 @@ import org.eclipse.glsp.server.operations.Operation;
 
 import com.eclipsesource.uml.glsp.model.UmlModelState;
 import com.eclipsesource.uml.glsp.modelserver.UmlModelServerAccess;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
 
 @SuppressWarnings("restriction")
 public abstract class ModelServerAwareBasicOperationHandler<T extends Operation> extends BasicOperationHandler<T>
@@ -32,15 +33,23 @@ public abstract class ModelServerAwareBasicOperationHandler<T extends Operation>
    @Override
    public void executeOperation(final T operation, final GModelState modelState) {
       if (handles(operation)) {
+         long start = System.nanoTime();
+         String modelUri = UmlModelState.getModelState(modelState).getModelUri();
+         String operationName = operation.getClass().getSimpleName();
          try {
             UmlModelServerAccess modelAccess = UmlModelState.getModelServerAccess(modelState);
             executeOperation(operationType.cast(operation), modelState, modelAccess);
          } catch (Exception ex) {
+            UmlMetrics.counter(UmlMetrics.OPERATION_ERRORS, UmlMetrics.TAG_OPERATION, operationName,
+               UmlMetrics.TAG_MODEL, modelUri).increment();
             if (ex instanceof RuntimeException) {
                // simply re-throw
                throw (RuntimeException) ex;
             }
             throw new RuntimeException(ex);
+         } finally {
+            UmlMetrics.timer(UmlMetrics.OPERATION, UmlMetrics.TAG_OPERATION, operationName,
+               UmlMetrics.TAG_MODEL, modelUri).recordSince(start);
          }
       }
    }
@@ -16,6 +16,12 @@ public final class UmlLabelUtil {
 
    private UmlLabelUtil() {}
 
+   public static String getPropertyLabel(final Property property) {
+      return property.getName()
+         .concat(getTypeName(property))
+         .concat(getMultiplicity(property));
+   }
+
    public static String getTypeName(final Property property) {
       if (property.getType() != null) {
          String typeName = property.getType().getName();
@@ -0,0 +1,284 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.commands.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.command.CompoundCommand;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.uml2.uml.Actor;
+import org.eclipse.uml2.uml.AggregationKind;
+import org.eclipse.uml2.uml.Association;
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Comment;
+import org.eclipse.uml2.uml.Element;
+import org.eclipse.uml2.uml.Extend;
+import org.eclipse.uml2.uml.ExtensionPoint;
+import org.eclipse.uml2.uml.Generalization;
+import org.eclipse.uml2.uml.Include;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.UMLPackage;
+import org.eclipse.uml2.uml.UseCase;
+import org.eclipse.uml2.uml.resource.UMLResource;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.eclipsesource.uml.modelserver.UmlModelResourceManager;
+import com.eclipsesource.uml.modelserver.UmlNotationUtil;
+import com.eclipsesource.uml.modelserver.UmlResourceSet;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveActorShapeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveAssociationEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveExtendEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveGeneralizationEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveIncludeEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveUsecaseShapeCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveActorCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveAssociationCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveCommentEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveExtendCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveGeneralizationCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveIncludeCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveUsecaseCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.SetPropertyTypeCommand;
+import com.eclipsesource.uml.modelserver.unotation.Diagram;
+import com.eclipsesource.uml.modelserver.unotation.NotationElement;
+import com.eclipsesource.uml.modelserver.unotation.SemanticProxy;
+import com.eclipsesource.uml.modelserver.unotation.UnotationFactory;
+
+public class UmlDeletePlannerTest {
+
+   private static final URI MODEL_URI = URI.createFileURI("/uml-test/model.uml");
+
+   private ResourceSet resourceSet;
+   private Model model;
+   private Diagram diagram;
+
+   @Before
+   public void setUp() {
+      resourceSet = new UmlResourceSet();
+      Map<String, Object> extensionToFactoryMap = resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap();
+      extensionToFactoryMap.put(UMLResource.FILE_EXTENSION, UMLResource.Factory.INSTANCE);
+      extensionToFactoryMap.put(UmlNotationUtil.NOTATION_EXTENSION, new XMIResourceFactoryImpl());
+      UMLResourcesUtil.init(resourceSet);
+
+      model = UmlModelResourceManager.createNewModel(MODEL_URI);
+      resourceSet.createResource(MODEL_URI).getContents().add(model);
+      diagram = UmlModelResourceManager.createNewDiagram(model, "usecase");
+      resourceSet.createResource(MODEL_URI.trimFileExtension().appendFileExtension(UmlNotationUtil.NOTATION_EXTENSION))
+         .getContents().add(diagram);
+   }
+
+   @Test
+   public void removeActorPlansDependentsOnce() {
+      Actor removed = createActorFixture();
+      List<Command> commands = new UmlDeletePlanner(createDomain(), MODEL_URI).remove(fragment(removed))
+         .createCommands();
+
+      assertEquals(9, commands.size());
+      assertTrue(commands.get(0) instanceof RemoveCommentEdgeCommand);
+      assertTrue(commands.get(1) instanceof SetPropertyTypeCommand);
+      // the outgoing generalization is contained in the actor, so only its edge is removed
+      Map<java.lang.Class<?>, Integer> relationshipCommands = countTypes(commands.subList(2, 7));
+      assertEquals(Integer.valueOf(1), relationshipCommands.get(RemoveAssociationCommand.class));
+      assertEquals(Integer.valueOf(1), relationshipCommands.get(RemoveAssociationEdgeCommand.class));
+      assertEquals(Integer.valueOf(1), relationshipCommands.get(RemoveGeneralizationCommand.class));
+      assertEquals(Integer.valueOf(2), relationshipCommands.get(RemoveGeneralizationEdgeCommand.class));
+      assertTrue(commands.get(7) instanceof RemoveActorCommand);
+      assertTrue(commands.get(8) instanceof RemoveActorShapeCommand);
+   }
+
+   @Test
+   public void removeActorAndUndo() {
+      Actor removed = createActorFixture();
+      Actor specific = (Actor) model.getPackagedElement("specific");
+      Generalization incoming = specific.getGeneralizations().get(0);
+      Association association = removed.getAssociations().get(0);
+      Comment comment = model.getOwnedComments().get(0);
+      Property property = ((Class) model.getPackagedElement("Typing")).getOwnedAttribute("actor", null);
+      Set<NotationElement> notationElements = new HashSet<>(diagram.getElements());
+
+      TransactionalEditingDomain domain = createDomain();
+      CompoundCommand command = new CompoundCommand();
+      new UmlDeletePlanner(domain, MODEL_URI).remove(fragment(removed)).appendTo(command);
+      domain.getCommandStack().execute(command);
+
+      assertNull(removed.eContainer());
+      assertNull(association.eContainer());
+      assertTrue(specific.getGeneralizations().isEmpty());
+      assertSame(model, comment.eContainer());
+      assertTrue(comment.getAnnotatedElements().isEmpty());
+      assertNull(property.getType());
+      assertEquals(notationElements.size() - 4, diagram.getElements().size());
+      assertConsistent();
+
+      domain.getCommandStack().undo();
+
+      assertSame(model, removed.eContainer());
+      assertSame(model, association.eContainer());
+      assertSame(removed, incoming.getGeneral());
+      assertSame(incoming, specific.getGeneralizations().get(0));
+      assertTrue(comment.getAnnotatedElements().contains(removed));
+      assertSame(removed, property.getType());
+      assertEquals(notationElements, new HashSet<>(diagram.getElements()));
+      assertConsistent();
+   }
+
+   @Test
+   public void removeUseCaseAndUndo() {
+      UseCase removed = (UseCase) model.createPackagedElement("removed", UMLPackage.Literals.USE_CASE);
+      UseCase including = (UseCase) model.createPackagedElement("including", UMLPackage.Literals.USE_CASE);
+      UseCase extending = (UseCase) model.createPackagedElement("extending", UMLPackage.Literals.USE_CASE);
+      Include include = including.createInclude(null, removed);
+      ExtensionPoint extensionPoint = removed.createExtensionPoint("point");
+      Extend extend = extending.createExtend(null, removed);
+      extend.getExtensionLocations().add(extensionPoint);
+      addShapes(removed, including, extending);
+      addEdges(include, extend);
+      Set<NotationElement> notationElements = new HashSet<>(diagram.getElements());
+
+      TransactionalEditingDomain domain = createDomain();
+      UmlDeletePlanner planner = new UmlDeletePlanner(domain, MODEL_URI).remove(fragment(removed));
+      List<Command> commands = planner.createCommands();
+
+      assertEquals(6, commands.size());
+      Map<java.lang.Class<?>, Integer> relationshipCommands = countTypes(commands.subList(0, 4));
+      assertEquals(Integer.valueOf(1), relationshipCommands.get(RemoveIncludeCommand.class));
+      assertEquals(Integer.valueOf(1), relationshipCommands.get(RemoveIncludeEdgeCommand.class));
+      assertEquals(Integer.valueOf(1), relationshipCommands.get(RemoveExtendCommand.class));
+      assertEquals(Integer.valueOf(1), relationshipCommands.get(RemoveExtendEdgeCommand.class));
+      assertTrue(commands.get(4) instanceof RemoveUsecaseCommand);
+      assertTrue(commands.get(5) instanceof RemoveUsecaseShapeCommand);
+
+      CompoundCommand command = new CompoundCommand();
+      commands.forEach(command::append);
+      domain.getCommandStack().execute(command);
+
+      assertNull(removed.eContainer());
+      assertTrue(including.getIncludes().isEmpty());
+      assertTrue(extending.getExtends().isEmpty());
+      assertEquals(notationElements.size() - 3, diagram.getElements().size());
+      assertConsistent();
+
+      domain.getCommandStack().undo();
+
+      assertSame(model, removed.eContainer());
+      assertSame(include, including.getIncludes().get(0));
+      assertSame(extend, extending.getExtends().get(0));
+      assertSame(extensionPoint, extend.getExtensionLocations().get(0));
+      assertEquals(notationElements, new HashSet<>(diagram.getElements()));
+      assertConsistent();
+   }
+
+   /**
+    * Creates the actor to remove with an incoming and an outgoing generalization, an association to a use case, an
+    * annotating comment and a property typed by the actor, all shown in the diagram.
+    */
+   protected Actor createActorFixture() {
+      Actor removed = (Actor) model.createPackagedElement("removed", UMLPackage.Literals.ACTOR);
+      Actor general = (Actor) model.createPackagedElement("general", UMLPackage.Literals.ACTOR);
+      Actor specific = (Actor) model.createPackagedElement("specific", UMLPackage.Literals.ACTOR);
+      UseCase useCase = (UseCase) model.createPackagedElement("useCase", UMLPackage.Literals.USE_CASE);
+      Class typing = (Class) model.createPackagedElement("Typing", UMLPackage.Literals.CLASS);
+      typing.createOwnedAttribute("actor", removed);
+      Comment comment = model.createOwnedComment();
+      comment.setBody("note");
+      comment.getAnnotatedElements().add(removed);
+      Generalization outgoing = removed.createGeneralization(general);
+      Generalization incoming = specific.createGeneralization(removed);
+      Association association = removed.createAssociation(false, AggregationKind.NONE_LITERAL, "useCase", 0, 1,
+         useCase, false, AggregationKind.NONE_LITERAL, "actor", 0, 1);
+      addShapes(removed, general, specific, useCase, typing, comment);
+      addEdges(outgoing, incoming, association);
+      return removed;
+   }
+
+   protected TransactionalEditingDomain createDomain() {
+      return TransactionalEditingDomain.Factory.INSTANCE.createEditingDomain(resourceSet);
+   }
+
+   protected void addShapes(final Element... elements) {
+      for (Element element : elements) {
+         addNotationElement(UnotationFactory.eINSTANCE.createShape(), element);
+      }
+   }
+
+   protected void addEdges(final Element... elements) {
+      for (Element element : elements) {
+         addNotationElement(UnotationFactory.eINSTANCE.createEdge(), element);
+      }
+   }
+
+   protected void addNotationElement(final NotationElement notationElement, final Element element) {
+      SemanticProxy semanticProxy = UnotationFactory.eINSTANCE.createSemanticProxy();
+      semanticProxy.setUri(fragment(element));
+      notationElement.setSemanticElement(semanticProxy);
+      diagram.getElements().add(notationElement);
+   }
+
+   /**
+    * Checks that every diagram element shows an element of the model and that no element of the model references an
+    * element outside of a resource.
+    */
+   protected void assertConsistent() {
+      Resource semanticResource = model.eResource();
+      for (NotationElement notationElement : diagram.getElements()) {
+         EObject element = semanticResource.getEObject(notationElement.getSemanticElement().getUri());
+         assertNotNull("Dangling notation element " + notationElement, element);
+         assertSame(semanticResource, element.eResource());
+      }
+      for (TreeIterator<EObject> contents = model.eAllContents(); contents.hasNext();) {
+         EObject element = contents.next();
+         for (EReference reference : element.eClass().getEAllReferences()) {
+            if (reference.isContainment() || reference.isContainer() || reference.isDerived()
+               || reference.isTransient() || !element.eIsSet(reference)) {
+               continue;
+            }
+            Object value = element.eGet(reference, false);
+            Collection<?> values = value instanceof Collection ? (Collection<?>) value : List.of(value);
+            for (Object referenced : values) {
+               assertNotNull("Dangling " + reference.getName() + " of " + element, ((EObject) referenced).eResource());
+            }
+         }
+      }
+   }
+
+   protected static Map<java.lang.Class<?>, Integer> countTypes(final List<Command> commands) {
+      Map<java.lang.Class<?>, Integer> counts = new HashMap<>();
+      commands.forEach(command -> counts.merge(command.getClass(), 1, Integer::sum));
+      return counts;
+   }
+
+   protected static String fragment(final Element element) {
+      return UmlSemanticCommandUtil.getSemanticUriFragment(element);
+   }
+
+}
@@ -0,0 +1,196 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.uml2.uml.internal.resource.UMLResourceImpl;
+import org.eclipse.uml2.uml.resource.UMLResource;
+
+/**
+ * Optional binary persistence of .uml and .unotation files based on the EMF binary resource format.
+ * <p>
+ * The binary format is enabled with the system property {@value #BINARY_RESOURCES_PROPERTY}. Files are still
+ * loaded as XMI as long as they do not start with the binary signature, so existing models are migrated the next
+ * time they are saved. The ids of the elements are stored after the contents, since the fragments of the semantic
+ * proxies in the notation refer to them. Saving with {@link #OPTION_BINARY} set to false writes XMI again.
+ * </p>
+ */
+public final class UmlBinaryFormat {
+
+   public static final String BINARY_RESOURCES_PROPERTY = "uml.binaryResources";
+
+   /**
+    * Save option to choose between the binary format (true) and XMI (false).
+    */
+   public static final String OPTION_BINARY = "UML_OPTION_BINARY";
+
+   // signature written by BinaryResourceImpl.EObjectOutputStream
+   private static final byte[] SIGNATURE = { (byte) 137, 'e', 'm', 'f', '\n', '\r', 26, '\n' };
+
+   private UmlBinaryFormat() {}
+
+   public static boolean isEnabled() { return Boolean.getBoolean(BINARY_RESOURCES_PROPERTY); }
+
+   public static boolean isBinary(final InputStream inputStream) throws IOException {
+      byte[] header = new byte[SIGNATURE.length];
+      inputStream.mark(SIGNATURE.length);
+      int read = inputStream.readNBytes(header, 0, header.length);
+      inputStream.reset();
+      return read == SIGNATURE.length && Arrays.equals(header, SIGNATURE);
+   }
+
+   public static void save(final XMLResource resource, final OutputStream outputStream, final Map<?, ?> options)
+      throws IOException {
+      BinaryResourceImpl.EObjectOutputStream out = new BinaryResourceImpl.EObjectOutputStream(outputStream,
+         options);
+      out.saveResource(resource);
+      List<Integer> indices = new ArrayList<>();
+      List<String> ids = new ArrayList<>();
+      int index = 0;
+      TreeIterator<EObject> contents = resource.getAllContents();
+      while (contents.hasNext()) {
+         String id = resource.getID(contents.next());
+         if (id != null) {
+            indices.add(index);
+            ids.add(id);
+         }
+         index++;
+      }
+      out.writeCompressedInt(ids.size());
+      for (int i = 0; i < ids.size(); i++) {
+         out.writeCompressedInt(indices.get(i));
+         out.writeString(ids.get(i));
+      }
+      out.flush();
+   }
+
+   public static void load(final XMLResource resource, final InputStream inputStream, final Map<?, ?> options)
+      throws IOException {
+      BinaryResourceImpl.EObjectInputStream in = new BinaryResourceImpl.EObjectInputStream(inputStream, options);
+      in.loadResource(resource);
+      List<EObject> allContents = new ArrayList<>();
+      resource.getAllContents().forEachRemaining(allContents::add);
+      int count = in.readCompressedInt();
+      for (int i = 0; i < count; i++) {
+         int index = in.readCompressedInt();
+         String id = in.readString();
+         if (index < allContents.size()) {
+            resource.setID(allContents.get(index), id);
+         }
+      }
+   }
+
+   static boolean isBinarySave(final Map<?, ?> options) {
+      return options != null && Boolean.TRUE.equals(options.get(OPTION_BINARY));
+   }
+
+   static InputStream markable(final InputStream inputStream) {
+      return inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+   }
+
+   /**
+    * UML resource that loads both formats and saves in the binary format unless {@link #OPTION_BINARY} is false.
+    */
+   public static class UmlResource extends UMLResourceImpl {
+      public UmlResource(final URI uri) {
+         super(uri);
+      }
+
+      @Override
+      public void doLoad(final InputStream inputStream, final Map<?, ?> options) throws IOException {
+         InputStream in = markable(inputStream);
+         if (isBinary(in)) {
+            load(this, in, options);
+         } else {
+            super.doLoad(in, options);
+         }
+      }
+
+      @Override
+      public void doSave(final OutputStream outputStream, final Map<?, ?> options) throws IOException {
+         if (isBinarySave(options)) {
+            save(this, outputStream, options);
+         } else {
+            super.doSave(outputStream, options);
+         }
+      }
+   }
+
+   /**
+    * Notation resource that loads both formats and saves in the binary format unless {@link #OPTION_BINARY} is
+    * false.
+    */
+   public static class NotationResource extends XMIResourceImpl {
+      public NotationResource(final URI uri) {
+         super(uri);
+      }
+
+      @Override
+      public void doLoad(final InputStream inputStream, final Map<?, ?> options) throws IOException {
+         InputStream in = markable(inputStream);
+         if (isBinary(in)) {
+            load(this, in, options);
+         } else {
+            super.doLoad(in, options);
+         }
+      }
+
+      @Override
+      public void doSave(final OutputStream outputStream, final Map<?, ?> options) throws IOException {
+         if (isBinarySave(options)) {
+            save(this, outputStream, options);
+         } else {
+            super.doSave(outputStream, options);
+         }
+      }
+   }
+
+   public static class UmlResourceFactory extends ResourceFactoryImpl {
+      @Override
+      public Resource createResource(final URI uri) {
+         // use the same configuration as the resources of the default UML resource factory
+         XMLResource template = (XMLResource) UMLResource.Factory.INSTANCE.createResource(uri);
+         UmlResource resource = new UmlResource(uri);
+         resource.setEncoding(template.getEncoding());
+         resource.getDefaultLoadOptions().putAll(template.getDefaultLoadOptions());
+         resource.getDefaultSaveOptions().putAll(template.getDefaultSaveOptions());
+         resource.getDefaultSaveOptions().put(OPTION_BINARY, Boolean.TRUE);
+         return resource;
+      }
+   }
+
+   public static class NotationResourceFactory extends XMIResourceFactoryImpl {
+      @Override
+      public Resource createResource(final URI uri) {
+         NotationResource resource = new NotationResource(uri);
+         resource.getDefaultSaveOptions().put(OPTION_BINARY, Boolean.TRUE);
+         return resource;
+      }
+   }
+
+}
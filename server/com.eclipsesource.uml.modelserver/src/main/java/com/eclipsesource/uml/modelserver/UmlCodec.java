@@ -10,9 +10,15 @@
  ********************************************************************************/
 package com.eclipsesource.uml.modelserver;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -22,38 +28,95 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
 import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.URIHandlerImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
 import org.eclipse.emfcloud.modelserver.common.codecs.Codec;
 import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
 import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.jsonschema.Json;
 import org.eclipse.uml2.uml.resource.UMLResource;
+import org.xml.sax.InputSource;
 
+import com.eclipsesource.uml.modelserver.metrics.CodecEvent;
 import com.fasterxml.jackson.databind.JsonNode;
 
 public class UmlCodec implements Codec {
 
    private static Logger LOGGER = Logger.getLogger(UmlCodec.class.getSimpleName());
 
+   private static final URI VIRTUAL_URI = URI.createURI("virtual.uml");
+   private static final int ENCODE_BUFFER_SIZE = 64 * 1024;
+
+   // the cached lookup table of the XML save is not thread-safe, so every thread gets its own
+   private static final ThreadLocal<List<Object>> LOOKUP_TABLE = ThreadLocal.withInitial(ArrayList::new);
+
+   private static final XMLParserPool PARSER_POOL = new XMLParserPoolImpl(true);
+   // values may be null for unknown features, hence no ConcurrentHashMap
+   private static final Map<Object, Object> NAME_TO_FEATURE_MAP = Collections.synchronizedMap(new HashMap<>());
+
    @Override
    public JsonNode encode(final EObject eObject) throws EncodingException {
-      Resource originalResource = eObject.eResource();
-      URI originalURI = originalResource.getURI();
-      // temporarily set different URI to serialize
-      eObject.eResource().setURI(URI.createURI("virtual.uml"));
-
-      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      CodecEvent event = new CodecEvent();
+      event.begin();
+      Resource resource = eObject.eResource();
+      StringWriter writer = new StringWriter(ENCODE_BUFFER_SIZE);
       try {
-         eObject.eResource().save(outputStream,
-            Map.of(XMLResource.OPTION_KEEP_DEFAULT_CONTENT, Boolean.TRUE,
-               XMLResource.OPTION_PROCESS_DANGLING_HREF, XMLResource.OPTION_PROCESS_DANGLING_HREF_DISCARD));
+         if (resource instanceof XMLResource) {
+            // write the characters directly instead of encoding and decoding the bytes of the payload again
+            ((XMLResource) resource).save(writer, getEncodeOptions());
+         } else {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(ENCODE_BUFFER_SIZE);
+            resource.save(outputStream, getEncodeOptions());
+            writer.write(outputStream.toString(StandardCharsets.UTF_8));
+         }
       } catch (IOException e) {
          throw new EncodingException(e);
       }
-      // reset original URI
-      originalResource.setURI(originalURI);
+      String payload = writer.toString();
+      commit(event, CodecEvent.ENCODE, resource, payload);
+      return Json.text(payload);
+   }
 
-      return Json.text(outputStream.toString());
+   protected static void commit(final CodecEvent event, final String operation, final Resource resource,
+      final String payload) {
+      event.end();
+      if (event.shouldCommit()) {
+         event.setOperation(operation);
+         event.setModelUri(String.valueOf(resource.getURI()));
+         event.setCharacters(payload.length());
+         event.setElements(UmlModelServerMetrics.countElements(resource));
+         event.commit();
+      }
+   }
+
+   /**
+    * The save options used for encoding. References to other resources are deresolved against a virtual URI
+    * instead of temporarily changing the URI of the resource, so several threads may encode the same resource.
+    */
+   protected Map<Object, Object> getEncodeOptions() {
+      Map<Object, Object> options = new HashMap<>();
+      options.put(XMLResource.OPTION_KEEP_DEFAULT_CONTENT, Boolean.TRUE);
+      options.put(XMLResource.OPTION_PROCESS_DANGLING_HREF, XMLResource.OPTION_PROCESS_DANGLING_HREF_DISCARD);
+      options.put(XMLResource.OPTION_URI_HANDLER, new VirtualURIHandler());
+      options.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+      options.put(XMLResource.OPTION_USE_CACHED_LOOKUP_TABLE, LOOKUP_TABLE.get());
+      return options;
+   }
+
+   /**
+    * The load options used for decoding. Parsers and the feature lookups of the XML handler are shared between all
+    * decodes, IDREFs are resolved once at the end of the document.
+    */
+   protected Map<Object, Object> getDecodeOptions(final ResourceSet resourceSet) {
+      Map<Object, Object> options = new HashMap<>(resourceSet.getLoadOptions());
+      options.put(XMLResource.OPTION_USE_PARSER_POOL, PARSER_POOL);
+      options.put(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP, NAME_TO_FEATURE_MAP);
+      options.put(XMLResource.OPTION_DEFER_IDREF_RESOLUTION, Boolean.TRUE);
+      options.put(XMLResource.OPTION_USE_DEPRECATED_METHODS, Boolean.FALSE);
+      options.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+      return options;
    }
 
    @Override
@@ -72,6 +135,8 @@ public class UmlCodec implements Codec {
       final String payload)
       throws DecodingException {
 
+      CodecEvent event = new CodecEvent();
+      event.begin();
       URI uri = URI.createURI(modelURI);
       if (workspaceURI != null) {
          uri = uri.resolve(workspaceURI);
@@ -90,12 +155,24 @@ public class UmlCodec implements Codec {
          resourceSet.getResources().add(result);
       }
       try {
-         result.load(new ByteArrayInputStream(payload.getBytes()), resourceSet.getLoadOptions());
+         // parse the characters of the payload directly instead of encoding them to bytes first
+         ((XMLResource) result).load(new InputSource(new StringReader(payload)), getDecodeOptions(resourceSet));
       } catch (IOException e) {
          throw new DecodingException(e);
       }
 
+      commit(event, CodecEvent.DECODE, result, payload);
       return Optional.of(result);
    }
 
+   /**
+    * Deresolves references against the virtual URI used for the encoded payload instead of the resource URI.
+    */
+   protected static class VirtualURIHandler extends URIHandlerImpl {
+      @Override
+      public void setBaseURI(final URI uri) {
+         super.setBaseURI(VIRTUAL_URI);
+      }
+   }
+
 }
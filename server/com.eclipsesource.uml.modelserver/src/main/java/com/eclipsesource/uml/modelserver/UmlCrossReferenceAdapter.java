@@ -0,0 +1,57 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Inverse reference index of all resources of a model resource set. It is installed by the
+ * {@link UmlModelResourceManager} when the resource set is created, so finding the usages of an element does not
+ * need to traverse the whole model.
+ */
+public class UmlCrossReferenceAdapter extends ECrossReferenceAdapter {
+
+   public static UmlCrossReferenceAdapter getOrCreate(final ResourceSet resourceSet) {
+      synchronized (resourceSet) {
+         UmlCrossReferenceAdapter adapter = (UmlCrossReferenceAdapter) EcoreUtil.getExistingAdapter(resourceSet,
+            UmlCrossReferenceAdapter.class);
+         if (adapter == null) {
+            adapter = new UmlCrossReferenceAdapter();
+            resourceSet.eAdapters().add(adapter);
+         }
+         return adapter;
+      }
+   }
+
+   @Override
+   public boolean isAdapterForType(final Object type) {
+      return UmlCrossReferenceAdapter.class.equals(type);
+   }
+
+   /**
+    * Returns the references to the given element from objects contained in the given resource, like
+    * {@link EcoreUtil.UsageCrossReferencer#find(EObject, Resource)}.
+    */
+   public Collection<Setting> getUsages(final EObject element, final Resource resource) {
+      return getInverseReferences(element, true).stream()
+         .filter(setting -> setting.getEObject().eResource() == resource)
+         .collect(Collectors.toList());
+   }
+
+}
@@ -0,0 +1,497 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.edit.domain.EditingDomain;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.glsp.graph.GPoint;
+import org.eclipse.glsp.graph.util.GraphUtil;
+import org.eclipse.uml2.uml.Actor;
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Classifier;
+import org.eclipse.uml2.uml.Component;
+import org.eclipse.uml2.uml.Element;
+import org.eclipse.uml2.uml.ExtensionPoint;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Package;
+import org.eclipse.uml2.uml.PackageableElement;
+import org.eclipse.uml2.uml.UseCase;
+import org.eclipse.uml2.uml.resource.UMLResource;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+
+import com.eclipsesource.uml.modelserver.commands.compound.AddActorCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddAssociationCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddClassCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddCommentCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddComponentCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddExtendCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddGeneralizationCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddIncludeCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddPackageCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.compound.AddUsecaseCompoundCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.AddPropertyCommand;
+import com.eclipsesource.uml.modelserver.commands.util.UmlSemanticCommandUtil;
+import com.eclipsesource.uml.modelserver.unotation.Representation;
+
+/**
+ * Generates UML models with a matching diagram of a configurable size and structure, e.g. to reproduce the scale of
+ * production models in benchmarks and load tests.
+ * <p>
+ * The models are created like the model server creates new models and every element is added by executing the same
+ * compound commands that are used for editing, so the generated models have the same structure as edited ones.
+ * Element kinds and relationships are chosen randomly with a fixed seed, so the same parameters generate the same
+ * model. Use {@link #main(String[])} to generate a model from the command line.
+ * </p>
+ */
+public class UmlModelGenerator {
+
+   private static Logger LOGGER = Logger.getLogger(UmlModelGenerator.class.getSimpleName());
+
+   private static final int COLUMNS = 40;
+   private static final int CHILD_COLUMNS = 4;
+
+   private Representation representation = Representation.USECASE;
+   private int elements = 1000;
+   private int packageDepth = 2;
+   private double packageRatio = 0.04;
+   private double componentRatio = 0.02;
+   private double actorRatio = 0.2;
+   private double includeDensity = 0.2;
+   private double extendDensity = 0.2;
+   private double extensionPointReuse = 0.5;
+   private double generalizationDensity = 0.1;
+   private double associationDensity = 0.2;
+   private double commentDensity = 0.05;
+   private int propertiesPerClass = 2;
+   private long seed = 42;
+
+   private Random random;
+   private URI modelUri;
+   private EditingDomain domain;
+   private Model umlModel;
+   private int topLevelNodes;
+   private final Map<Element, Integer> childCounts = new HashMap<>();
+   private final List<Package> packages = new ArrayList<>();
+   private final List<Component> components = new ArrayList<>();
+   private final List<Actor> actors = new ArrayList<>();
+   private final List<UseCase> useCases = new ArrayList<>();
+   private final List<Classifier> classes = new ArrayList<>();
+
+   public UmlModelGenerator representation(final Representation representation) {
+      this.representation = representation;
+      return this;
+   }
+
+   /**
+    * Number of nodes of the model, i.e. packages, components, actors and use cases or classes.
+    */
+   public UmlModelGenerator elements(final int elements) {
+      this.elements = elements;
+      return this;
+   }
+
+   /**
+    * Maximum nesting depth of packages, 0 creates no packages.
+    */
+   public UmlModelGenerator packageDepth(final int packageDepth) {
+      this.packageDepth = packageDepth;
+      return this;
+   }
+
+   /**
+    * Share of the nodes that are packages.
+    */
+   public UmlModelGenerator packageRatio(final double packageRatio) {
+      this.packageRatio = packageRatio;
+      return this;
+   }
+
+   /**
+    * Share of the nodes that are components, they are nested in random packages.
+    */
+   public UmlModelGenerator componentRatio(final double componentRatio) {
+      this.componentRatio = componentRatio;
+      return this;
+   }
+
+   /**
+    * Share of the actors among the remaining nodes, the others are use cases.
+    */
+   public UmlModelGenerator actorRatio(final double actorRatio) {
+      this.actorRatio = actorRatio;
+      return this;
+   }
+
+   /**
+    * Number of includes per use case.
+    */
+   public UmlModelGenerator includeDensity(final double includeDensity) {
+      this.includeDensity = includeDensity;
+      return this;
+   }
+
+   /**
+    * Number of extends per use case.
+    */
+   public UmlModelGenerator extendDensity(final double extendDensity) {
+      this.extendDensity = extendDensity;
+      return this;
+   }
+
+   /**
+    * Probability that an extend uses an existing extension point of the extended use case instead of a new one.
+    */
+   public UmlModelGenerator extensionPointReuse(final double extensionPointReuse) {
+      this.extensionPointReuse = extensionPointReuse;
+      return this;
+   }
+
+   /**
+    * Number of generalizations per actor or class.
+    */
+   public UmlModelGenerator generalizationDensity(final double generalizationDensity) {
+      this.generalizationDensity = generalizationDensity;
+      return this;
+   }
+
+   /**
+    * Number of associations per node, between actors and use cases or between classes.
+    */
+   public UmlModelGenerator associationDensity(final double associationDensity) {
+      this.associationDensity = associationDensity;
+      return this;
+   }
+
+   /**
+    * Number of comments per node, the comments are annotated to a random node.
+    */
+   public UmlModelGenerator commentDensity(final double commentDensity) {
+      this.commentDensity = commentDensity;
+      return this;
+   }
+
+   public UmlModelGenerator propertiesPerClass(final int propertiesPerClass) {
+      this.propertiesPerClass = propertiesPerClass;
+      return this;
+   }
+
+   public UmlModelGenerator seed(final long seed) {
+      this.seed = seed;
+      return this;
+   }
+
+   /**
+    * Generates the model and its notation and saves them to the given .uml file and the notation file next to it.
+    */
+   public void generate(final File file) throws IOException {
+      ResourceSet resourceSet = generate(URI.createFileURI(file.getAbsolutePath()));
+      for (Resource resource : resourceSet.getResources()) {
+         if (resource.getURI().isFile()) {
+            resource.save(null);
+         }
+      }
+   }
+
+   /**
+    * Generates the model and its notation in a new resource set without saving them.
+    *
+    * @param modelUri the uri of the .uml resource
+    * @return the resource set containing the model and notation resource
+    */
+   public ResourceSet generate(final URI modelUri) {
+      long start = System.currentTimeMillis();
+      this.random = new Random(seed);
+      this.modelUri = modelUri;
+      this.topLevelNodes = 0;
+      childCounts.clear();
+      packages.clear();
+      components.clear();
+      actors.clear();
+      useCases.clear();
+      classes.clear();
+      ResourceSet resourceSet = createResourceSet();
+      umlModel = UmlModelResourceManager.createNewModel(modelUri);
+      resourceSet.createResource(modelUri).getContents().add(umlModel);
+      resourceSet.createResource(modelUri.trimFileExtension().appendFileExtension(UmlNotationUtil.NOTATION_EXTENSION))
+         .getContents().add(UmlModelResourceManager.createNewDiagram(umlModel, representation.getLiteral()));
+
+      // the commands record their changes, so they need a transactional editing domain like the model server has
+      TransactionalEditingDomain transactionalDomain = TransactionalEditingDomain.Factory.INSTANCE
+         .createEditingDomain(resourceSet);
+      domain = transactionalDomain;
+      if (representation == Representation.CLASS) {
+         generateClassModel();
+      } else {
+         generateUseCaseModel();
+      }
+      // the resource set can be modified without transactions afterwards
+      transactionalDomain.dispose();
+      LOGGER.info(String.format("Generated %s model %s with %d elements in %d ms", representation.getLiteral(),
+         modelUri.lastSegment(), elements, System.currentTimeMillis() - start));
+      return resourceSet;
+   }
+
+   protected ResourceSet createResourceSet() {
+      ResourceSet resourceSet = new UmlResourceSet();
+      Map<String, Object> extensionToFactoryMap = resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap();
+      extensionToFactoryMap.put(UMLResource.FILE_EXTENSION, UMLResource.Factory.INSTANCE);
+      extensionToFactoryMap.put(UmlNotationUtil.NOTATION_EXTENSION, new XMIResourceFactoryImpl());
+      UMLResourcesUtil.init(resourceSet);
+      return resourceSet;
+   }
+
+   protected void generateUseCaseModel() {
+      int packageCount = packageDepth > 0 ? (int) Math.round(elements * packageRatio) : 0;
+      int componentCount = (int) Math.round(elements * componentRatio);
+      int actorCount = (int) Math.round(Math.max(0, elements - packageCount - componentCount) * actorRatio);
+      int useCaseCount = Math.max(0, elements - packageCount - componentCount - actorCount);
+
+      Package[] lastAtDepth = new Package[Math.max(1, packageDepth)];
+      for (int i = 0; i < packageCount; i++) {
+         int depth = i % packageDepth;
+         Package parent = depth == 0 ? umlModel : lastAtDepth[depth - 1];
+         Package newPackage = addNode(parent == umlModel
+            ? new AddPackageCompoundCommand(domain, modelUri, nextPosition(parent))
+            : new AddPackageCompoundCommand(domain, modelUri, nextPosition(parent), fragment(parent)),
+            parent, Package.class);
+         packages.add(newPackage);
+         lastAtDepth[depth] = newPackage;
+      }
+      for (int i = 0; i < componentCount; i++) {
+         Package parent = randomPackage();
+         components.add(addNode(parent == umlModel
+            ? new AddComponentCompoundCommand(domain, modelUri, nextPosition(parent))
+            : new AddComponentCompoundCommand(domain, modelUri, nextPosition(parent), fragment(parent)), parent, Component.class));
+      }
+      for (int i = 0; i < actorCount; i++) {
+         // actors can only be nested in packages
+         Package parent = randomPackage();
+         actors.add(addNode(parent == umlModel
+            ? new AddActorCompoundCommand(domain, modelUri, nextPosition(parent))
+            : new AddActorCompoundCommand(domain, modelUri, nextPosition(parent), fragment(parent)), parent, Actor.class));
+      }
+      for (int i = 0; i < useCaseCount; i++) {
+         PackageableElement parent = randomPackageOrComponent();
+         useCases.add(addNode(parent == umlModel
+            ? new AddUsecaseCompoundCommand(domain, modelUri, nextPosition(parent))
+            : new AddUsecaseCompoundCommand(domain, modelUri, nextPosition(parent), fragment(parent)), parent, UseCase.class));
+      }
+
+      if (useCases.size() > 1) {
+         for (int i = 0; i < Math.round(useCases.size() * includeDensity); i++) {
+            execute(new AddIncludeCompoundCommand(domain, modelUri, fragment(pick(useCases)),
+               fragment(pick(useCases))));
+         }
+         for (int i = 0; i < Math.round(useCases.size() * extendDensity); i++) {
+            UseCase extended = pick(useCases);
+            EList<ExtensionPoint> extensionPoints = extended.getExtensionPoints();
+            String extendedUri = !extensionPoints.isEmpty() && random.nextDouble() < extensionPointReuse
+               ? fragment(pick(extensionPoints))
+               : fragment(extended);
+            execute(new AddExtendCompoundCommand(domain, modelUri, fragment(pick(useCases)), extendedUri));
+         }
+      }
+      if (actors.size() > 1) {
+         for (int i = 0; i < Math.round(actors.size() * generalizationDensity); i++) {
+            execute(new AddGeneralizationCompoundCommand(domain, modelUri, fragment(pick(actors)),
+               fragment(pick(actors))));
+         }
+      }
+      if (!actors.isEmpty() && !useCases.isEmpty()) {
+         for (int i = 0; i < Math.round(elements * associationDensity); i++) {
+            execute(new AddAssociationCompoundCommand(domain, modelUri, fragment(pick(actors)),
+               fragment(pick(useCases))));
+         }
+      }
+
+      List<Classifier> annotatable = new ArrayList<>(actors);
+      annotatable.addAll(useCases);
+      generateComments(annotatable);
+   }
+
+   protected void generateClassModel() {
+      for (int i = 0; i < elements; i++) {
+         classes.add(addNode(new AddClassCompoundCommand(domain, modelUri, nextPosition(umlModel)), umlModel,
+            Class.class));
+      }
+      for (Classifier newClass : classes) {
+         for (int i = 0; i < propertiesPerClass; i++) {
+            execute(new AddPropertyCommand(domain, modelUri, fragment(newClass)));
+         }
+      }
+      if (classes.size() > 1) {
+         for (int i = 0; i < Math.round(classes.size() * generalizationDensity); i++) {
+            execute(new AddGeneralizationCompoundCommand(domain, modelUri, fragment(pick(classes)),
+               fragment(pick(classes))));
+         }
+         for (int i = 0; i < Math.round(classes.size() * associationDensity); i++) {
+            execute(new AddAssociationCompoundCommand(domain, modelUri, fragment(pick(classes)),
+               fragment(pick(classes))));
+         }
+      }
+      generateComments(classes);
+   }
+
+   protected void generateComments(final List<Classifier> annotatable) {
+      if (annotatable.isEmpty()) {
+         return;
+      }
+      for (int i = 0; i < Math.round(annotatable.size() * commentDensity); i++) {
+         // the comment is owned by the package of the annotated element, so it is placed next to it
+         Classifier annotated = pick(annotatable);
+         execute(new AddCommentCompoundCommand(domain, modelUri, nextPosition(annotated.getOwner()),
+            fragment(annotated)));
+      }
+   }
+
+   /**
+    * Executes the command on the command stack like the model server does.
+    */
+   protected void execute(final Command command) {
+      domain.getCommandStack().execute(command);
+      // the generated model is not undone, so the undo history is not kept
+      domain.getCommandStack().flush();
+   }
+
+   /**
+    * Executes the command that adds a node to the given package or component and returns the new node, which is the
+    * last packaged element of its parent.
+    */
+   protected <T extends PackageableElement> T addNode(final Command command, final PackageableElement parent,
+      final java.lang.Class<T> type) {
+      execute(command);
+      EList<PackageableElement> packagedElements = parent instanceof Component
+         ? ((Component) parent).getPackagedElements()
+         : ((Package) parent).getPackagedElements();
+      return type.cast(packagedElements.get(packagedElements.size() - 1));
+   }
+
+   protected GPoint nextPosition(final Element parent) {
+      if (parent == umlModel) {
+         int index = topLevelNodes++;
+         return GraphUtil.point(20 + index % COLUMNS * 220, 20 + index / COLUMNS * 180);
+      }
+      // nested shapes are positioned relative to the child compartment of their parent
+      int index = childCounts.merge(parent, 1, Integer::sum) - 1;
+      return GraphUtil.point(10 + index % CHILD_COLUMNS * 180, 10 + index / CHILD_COLUMNS * 140);
+   }
+
+   protected Package randomPackage() {
+      int index = random.nextInt(packages.size() + 1);
+      return index == packages.size() ? umlModel : packages.get(index);
+   }
+
+   protected PackageableElement randomPackageOrComponent() {
+      int index = random.nextInt(packages.size() + components.size() + 1);
+      if (index < packages.size()) {
+         return packages.get(index);
+      }
+      index -= packages.size();
+      return index == components.size() ? umlModel : components.get(index);
+   }
+
+   protected <T> T pick(final List<T> elements) {
+      return elements.get(random.nextInt(elements.size()));
+   }
+
+   protected static String fragment(final Element element) {
+      return UmlSemanticCommandUtil.getSemanticUriFragment(element);
+   }
+
+   /**
+    * Generates a model from the command line. The last argument is the .uml file to write, the parameters are passed
+    * as options, e.g. {@code --representation=usecase --elements=10000 --packageDepth=3 model.uml}.
+    */
+   public static void main(final String[] args) throws IOException {
+      if (args.length == 0 || !args[args.length - 1].endsWith("." + UMLResource.FILE_EXTENSION)) {
+         System.err.println("Usage: UmlModelGenerator [--representation=usecase|class] [--elements=<n>]"
+            + " [--packageDepth=<n>] [--packageRatio=<r>] [--componentRatio=<r>] [--actorRatio=<r>]"
+            + " [--includeDensity=<r>] [--extendDensity=<r>] [--extensionPointReuse=<r>]"
+            + " [--generalizationDensity=<r>] [--associationDensity=<r>] [--commentDensity=<r>]"
+            + " [--propertiesPerClass=<n>] [--seed=<n>] <model.uml>");
+         System.exit(1);
+      }
+      UmlModelGenerator generator = new UmlModelGenerator();
+      for (int i = 0; i < args.length - 1; i++) {
+         String[] option = args[i].replaceFirst("^--", "").split("=", 2);
+         if (option.length != 2) {
+            throw new IllegalArgumentException("Invalid option " + args[i]);
+         }
+         generator.setOption(option[0], option[1]);
+      }
+      generator.generate(new File(args[args.length - 1]));
+   }
+
+   protected void setOption(final String name, final String value) {
+      switch (name) {
+         case "representation":
+            representation(UmlNotationUtil.getRepresentation(value));
+            break;
+         case "elements":
+            elements(Integer.parseInt(value));
+            break;
+         case "packageDepth":
+            packageDepth(Integer.parseInt(value));
+            break;
+         case "packageRatio":
+            packageRatio(Double.parseDouble(value));
+            break;
+         case "componentRatio":
+            componentRatio(Double.parseDouble(value));
+            break;
+         case "actorRatio":
+            actorRatio(Double.parseDouble(value));
+            break;
+         case "includeDensity":
+            includeDensity(Double.parseDouble(value));
+            break;
+         case "extendDensity":
+            extendDensity(Double.parseDouble(value));
+            break;
+         case "extensionPointReuse":
+            extensionPointReuse(Double.parseDouble(value));
+            break;
+         case "generalizationDensity":
+            generalizationDensity(Double.parseDouble(value));
+            break;
+         case "associationDensity":
+            associationDensity(Double.parseDouble(value));
+            break;
+         case "commentDensity":
+            commentDensity(Double.parseDouble(value));
+            break;
+         case "propertiesPerClass":
+            propertiesPerClass(Integer.parseInt(value));
+            break;
+         case "seed":
+            seed(Long.parseLong(value));
+            break;
+         default:
+            throw new IllegalArgumentException("Unknown option " + name);
+      }
+   }
+
+}
@@ -12,29 +12,38 @@ package com.eclipsesource.uml.modelserver;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashSet;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.eclipse.emf.common.notify.AdapterFactory;
-import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.EList;
-import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.URIHandlerImpl;
 import org.eclipse.emfcloud.modelserver.emf.common.RecordingModelResourceManager;
 import org.eclipse.emfcloud.modelserver.emf.configuration.EPackageConfiguration;
 import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
-import org.eclipse.uml2.uml.DataType;
 import org.eclipse.uml2.uml.Model;
-import org.eclipse.uml2.uml.NamedElement;
 import org.eclipse.uml2.uml.UMLFactory;
 import org.eclipse.uml2.uml.resource.UMLResource;
 import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
 
+import com.eclipsesource.uml.modelserver.metrics.ResourceSaveEvent;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
 import com.eclipsesource.uml.modelserver.unotation.Diagram;
 import com.eclipsesource.uml.modelserver.unotation.SemanticProxy;
 import com.eclipsesource.uml.modelserver.unotation.UnotationFactory;
@@ -43,6 +52,19 @@ import com.google.inject.Inject;
 
 public class UmlModelResourceManager extends RecordingModelResourceManager {
 
+   /**
+    * System property to only register the models of the workspace on startup and load them on first access.
+    */
+   public static final String LAZY_LOADING_PROPERTY = "uml.lazyLoading";
+   /**
+    * System property for the maximum number of models that are loaded in parallel.
+    */
+   public static final String LOADER_THREADS_PROPERTY = "uml.loaderThreads";
+
+   // the workspace is loaded from the super constructor, so these fields are initialized on first use
+   private volatile Set<URI> registeredModels;
+   private volatile Map<URI, CompletableFuture<ResourceSet>> loadingModels;
+
    @Inject
    public UmlModelResourceManager(final Set<EPackageConfiguration> configurations, final AdapterFactory adapterFactory,
       final ServerConfiguration serverConfiguration) {
@@ -76,57 +98,226 @@ public class UmlModelResourceManager extends RecordingModelResourceManager {
       if (directoryPath == null || directoryPath.isEmpty()) {
          return;
       }
-      File directory = new File(directoryPath);
+      long start = System.currentTimeMillis();
+      List<URI> models = new ArrayList<>();
+      List<URI> otherFiles = new ArrayList<>();
+      collectSourceResources(new File(directoryPath), models, otherFiles);
+
+      if (isLazyLoading()) {
+         getRegisteredModels().addAll(models);
+      } else {
+         Map<URI, ResourceSet> loadedModels = new LinkedHashMap<>();
+         models.forEach(modelUri -> loadedModels.put(modelUri, createUmlResourceSet()));
+         // every model has its own resource set, so the models can be loaded in parallel
+         ExecutorService loaderExecutor = createLoaderExecutor();
+         try {
+            CompletableFuture.allOf(models.stream()
+               .map(modelUri -> CompletableFuture.runAsync(
+                  () -> loadModelResources(modelUri, loadedModels.get(modelUri)), loaderExecutor))
+               .toArray(CompletableFuture[]::new)).join();
+         } finally {
+            loaderExecutor.shutdown();
+         }
+         // the resource sets and editing domains are registered in shared maps, so they are added once all models
+         // are loaded
+         loadedModels.forEach(this::registerResourceSet);
+      }
+      otherFiles.forEach(file -> loadResource(file.toString(),
+         false /* do not remove unloadable resources on workspace startup */));
+
+      LOG.info(String.format("Workspace %s ready in %d ms (%d models %s)", directoryPath,
+         System.currentTimeMillis() - start, models.size(), isLazyLoading() ? "registered" : "loaded"));
+   }
+
+   protected void collectSourceResources(final File directory, final List<URI> models,
+      final List<URI> otherFiles) {
       for (File file : directory.listFiles()) {
          if (isSourceDirectory(file)) {
-            loadSourceResources(file.getAbsolutePath());
+            collectSourceResources(file, models, otherFiles);
          } else if (file.isFile()) {
             URI absolutePath = createURI(file.getAbsolutePath());
-            if (absolutePath.fileExtension().equals(UMLResource.FILE_EXTENSION)) {
-               ResourceSet resourceSet = new ResourceSetImpl();
-               resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(UMLResource.FILE_EXTENSION,
-                  UMLResource.Factory.INSTANCE);
-               UMLResourcesUtil.init(resourceSet);
-               resourceSets.put(absolutePath, resourceSet);
-               loadResourceLibraries(resourceSet);
+            if (UMLResource.FILE_EXTENSION.equals(absolutePath.fileExtension())) {
+               models.add(absolutePath);
+            } else if (!UmlNotationUtil.NOTATION_EXTENSION.equals(absolutePath.fileExtension())
+               || !getSemanticFile(absolutePath).isFile()) {
+               // notations are loaded together with their model
+               otherFiles.add(absolutePath);
             }
-            loadResource(absolutePath.toString(),
-               false /* do not remove unloadable resources on workspace startup */);
          }
       }
    }
 
-   protected void loadResourceLibraries(final ResourceSet resourceSet) {
+   protected File getSemanticFile(final URI notationUri) {
+      return new File(notationUri.trimFileExtension().appendFileExtension(UMLResource.FILE_EXTENSION).toFileString());
+   }
+
+   /**
+    * Loads the model and its notation, if there is one, into the given resource set.
+    */
+   protected void loadModelResources(final URI modelUri, final ResourceSet resourceSet) {
+      URI notationUri = modelUri.trimFileExtension().appendFileExtension(UmlNotationUtil.NOTATION_EXTENSION);
       try {
-         resourceSet.getResource(URI.createURI(UMLResource.UML_PRIMITIVE_TYPES_LIBRARY_URI), true)
-            .load(Collections.EMPTY_MAP);
-         resourceSet.getResource(URI.createURI(UMLResource.ECORE_PRIMITIVE_TYPES_LIBRARY_URI), true)
-            .load(Collections.EMPTY_MAP);
-         resourceSet.getResource(URI.createURI(UMLResource.ECORE_PROFILE_URI), true)
-            .load(Collections.EMPTY_MAP);
-      } catch (IOException e) {
-         LOG.debug("Could not load resource libraries for resourceSet with URI: " + resourceSet.toString());
-         e.printStackTrace();
+         resourceSet.getResource(modelUri, true);
+         if (new File(notationUri.toFileString()).isFile()) {
+            resourceSet.getResource(notationUri, true);
+         }
+      } catch (RuntimeException e) {
+         // do not remove unloadable resources on workspace startup
+         LOG.error("Could not load model " + modelUri, e);
+      }
+   }
+
+   /**
+    * Loads a model that was registered on startup on the calling thread. Concurrent requests for the same model wait
+    * until it is loaded.
+    */
+   protected ResourceSet loadRegisteredModel(final URI modelUri) {
+      CompletableFuture<ResourceSet> loading = new CompletableFuture<>();
+      CompletableFuture<ResourceSet> existingLoading = getLoadingModels().putIfAbsent(modelUri, loading);
+      if (existingLoading != null) {
+         return existingLoading.join();
+      }
+      try {
+         ResourceSet resourceSet;
+         synchronized (resourceSets) {
+            // the model may have been loaded since the caller checked the registered models
+            resourceSet = resourceSets.get(modelUri);
+         }
+         if (resourceSet == null) {
+            long start = System.currentTimeMillis();
+            resourceSet = createUmlResourceSet();
+            loadModelResources(modelUri, resourceSet);
+            registerResourceSet(modelUri, resourceSet);
+            LOG.debug(String.format("Loaded %s in %d ms", modelUri, System.currentTimeMillis() - start));
+         }
+         loading.complete(resourceSet);
+         return resourceSet;
+      } catch (RuntimeException e) {
+         loading.completeExceptionally(e);
+         throw e;
+      } finally {
+         // the resource set is registered at this point, later requests find it in the resource sets
+         getLoadingModels().remove(modelUri, loading);
+      }
+   }
+
+   /**
+    * Adds the resource set and its editing domain to the shared maps. The maps are only accessed while holding the
+    * lock of the resource sets, so request threads never see a resource set without its editing domain.
+    */
+   protected void registerResourceSet(final URI modelUri, final ResourceSet resourceSet) {
+      synchronized (resourceSets) {
+         resourceSets.put(modelUri, resourceSet);
+         createEditingDomain(resourceSet);
+         getRegisteredModels().remove(modelUri);
+      }
+   }
+
+   protected boolean isLazyLoading() { return Boolean.getBoolean(LAZY_LOADING_PROPERTY); }
+
+   protected Set<URI> getRegisteredModels() {
+      if (registeredModels == null) {
+         synchronized (this) {
+            if (registeredModels == null) {
+               registeredModels = ConcurrentHashMap.newKeySet();
+            }
+         }
+      }
+      return registeredModels;
+   }
+
+   protected Map<URI, CompletableFuture<ResourceSet>> getLoadingModels() {
+      if (loadingModels == null) {
+         synchronized (this) {
+            if (loadingModels == null) {
+               loadingModels = new ConcurrentHashMap<>();
+            }
+         }
       }
+      return loadingModels;
+   }
+
+   /**
+    * Creates the executor to load the models of the workspace on startup, it is shut down once they are loaded.
+    */
+   protected ExecutorService createLoaderExecutor() {
+      int threads = Integer.getInteger(LOADER_THREADS_PROPERTY,
+         Math.min(4, Runtime.getRuntime().availableProcessors()));
+      return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+         Thread thread = new Thread(runnable, "uml-model-loader");
+         thread.setDaemon(true);
+         return thread;
+      });
+   }
+
+   protected ResourceSet createUmlResourceSet() {
+      // the UML libraries are shared by all resource sets
+      ResourceSet resourceSet = new UmlResourceSet();
+      Map<String, Object> extensionToFactoryMap = resourceSet.getResourceFactoryRegistry()
+         .getExtensionToFactoryMap();
+      if (UmlBinaryFormat.isEnabled()) {
+         extensionToFactoryMap.put(UMLResource.FILE_EXTENSION, new UmlBinaryFormat.UmlResourceFactory());
+         extensionToFactoryMap.put(UmlNotationUtil.NOTATION_EXTENSION, new UmlBinaryFormat.NotationResourceFactory());
+      } else {
+         extensionToFactoryMap.put(UMLResource.FILE_EXTENSION, UMLResource.Factory.INSTANCE);
+      }
+      UMLResourcesUtil.init(resourceSet);
+      // inverse references for the remove commands, built while the model is loaded
+      UmlCrossReferenceAdapter.getOrCreate(resourceSet);
+      return resourceSet;
    }
 
    @Override
    public ResourceSet getResourceSet(final String modeluri) {
-      if (createURI(modeluri).fileExtension().equals(UmlNotationUtil.NOTATION_EXTENSION)) {
-         URI semanticUri = createURI(modeluri).trimFileExtension().appendFileExtension(UMLResource.FILE_EXTENSION);
-         return resourceSets.get(semanticUri);
+      URI semanticUri = createURI(modeluri);
+      if (UmlNotationUtil.NOTATION_EXTENSION.equals(semanticUri.fileExtension())) {
+         semanticUri = semanticUri.trimFileExtension().appendFileExtension(UMLResource.FILE_EXTENSION);
+      }
+      synchronized (resourceSets) {
+         ResourceSet resourceSet = resourceSets.get(semanticUri);
+         if (resourceSet != null || !getRegisteredModels().contains(semanticUri)) {
+            return resourceSet;
+         }
+      }
+      // load outside of the lock, so requests for other models are not blocked
+      return loadRegisteredModel(semanticUri);
+   }
+
+   /**
+    * Returns a snapshot of the loaded models and their resource sets.
+    */
+   public Map<URI, ResourceSet> getLoadedModels() {
+      synchronized (resourceSets) {
+         return new LinkedHashMap<>(resourceSets);
       }
-      return resourceSets.get(createURI(modeluri));
    }
 
    @Override
    public boolean save(final String modeluri) {
+      long start = System.nanoTime();
+      try {
+         return saveModel(modeluri);
+      } finally {
+         UmlMetrics.timer(UmlMetrics.SAVE, UmlMetrics.TAG_MODEL, modeluri).recordSince(start);
+      }
+   }
+
+   protected boolean saveModel(final String modeluri) {
       boolean result = false;
       EList<Resource> res = getResourceSet(modeluri).getResources();
       for (Resource resource : res) {
          // Do only save file resources, no library resources
          if (resource.getURI().isFile()) {
+            ResourceSaveEvent event = new ResourceSaveEvent();
+            event.begin();
             result = saveResource(resource);
+            event.end();
+            if (event.shouldCommit()) {
+               event.setModelUri(modeluri);
+               event.setResourceUri(resource.getURI().toString());
+               event.setElements(UmlModelServerMetrics.countElements(resource));
+               event.commit();
+            }
          }
       }
       if (result) {
@@ -136,26 +327,87 @@ public class UmlModelResourceManager extends RecordingModelResourceManager {
    }
 
    public Set<String> getUmlTypes(final String modeluri) {
+      return new LinkedHashSet<>(UmlTypeRegistryAdapter.getOrCreate(getResourceSet(modeluri)).getTypeNames());
+   }
+
+   /**
+    * Returns the sorted names of the types in the resource set of the given model that start with the given prefix.
+    */
+   public List<String> getUmlTypes(final String modeluri, final String prefix, final int offset, final int limit) {
+      return UmlTypeRegistryAdapter.getOrCreate(getResourceSet(modeluri)).getTypeNames(prefix, offset, limit);
+   }
+
+   /**
+    * Saves the model and its notation as XMI to the given target, e.g. to exchange models that are persisted in the
+    * binary format. The notation is saved next to the target with the notation file extension. Targets outside of the
+    * workspace are rejected.
+    */
+   public boolean exportAsXmi(final String modeluri, final String targetUri) {
       ResourceSet resourceSet = getResourceSet(modeluri);
-      Set<String> listOfClassifiers = new HashSet<>();
-      TreeIterator<Notifier> resourceSetContent = resourceSet.getAllContents();
-      while (resourceSetContent.hasNext()) {
-         Notifier res = resourceSetContent.next();
-         if (res instanceof DataType || res instanceof org.eclipse.uml2.uml.Class) {
-            listOfClassifiers.add(((NamedElement) res).getName());
-         }
+      if (resourceSet == null) {
+         return false;
+      }
+      URI semanticTargetUri = createURI(targetUri);
+      if (!isInWorkspace(semanticTargetUri)) {
+         LOG.warn("Rejected export of " + modeluri + " to " + targetUri + " outside of the workspace");
+         return false;
       }
-      return listOfClassifiers;
+      URI semanticUri = createURI(modeluri);
+      URI notationUri = semanticUri.trimFileExtension().appendFileExtension(UmlNotationUtil.NOTATION_EXTENSION);
+      URI notationTargetUri = semanticTargetUri.trimFileExtension()
+         .appendFileExtension(UmlNotationUtil.NOTATION_EXTENSION);
+      Map<URI, URI> targetUris = Map.of(semanticUri, semanticTargetUri, notationUri, notationTargetUri);
+      return exportAsXmi(resourceSet, semanticUri, targetUris) && exportAsXmi(resourceSet, notationUri, targetUris);
+   }
+
+   protected boolean exportAsXmi(final ResourceSet resourceSet, final URI resourceUri,
+      final Map<URI, URI> targetUris) {
+      Resource resource = resourceSet.getResource(resourceUri, false);
+      if (resource == null) {
+         return false;
+      }
+      URI targetUri = targetUris.get(resourceUri);
+      try (OutputStream outputStream = resourceSet.getURIConverter().createOutputStream(targetUri)) {
+         resource.save(outputStream, Map.of(UmlBinaryFormat.OPTION_BINARY, Boolean.FALSE,
+            XMLResource.OPTION_URI_HANDLER, new ExportUriHandler(targetUris)));
+         return true;
+      } catch (IOException e) {
+         LOG.error("Could not export " + resourceUri + " to " + targetUri, e);
+         return false;
+      }
+   }
+
+   /**
+    * Returns whether the given URI denotes a file within the workspace root.
+    */
+   protected boolean isInWorkspace(final URI uri) {
+      URI workspaceRoot = serverConfiguration.getWorkspaceRootURI();
+      if (!uri.isFile() || workspaceRoot == null || !workspaceRoot.isFile()) {
+         return false;
+      }
+      try {
+         Path rootPath = new File(workspaceRoot.toFileString()).getCanonicalFile().toPath();
+         return new File(uri.toFileString()).getCanonicalFile().toPath().startsWith(rootPath);
+      } catch (IOException e) {
+         return false;
+      }
+   }
+
+   /**
+    * Returns the current revision of the given model resource or an empty Optional if the resource is not loaded.
+    */
+   public Optional<String> getModelRevision(final String modeluri) {
+      ResourceSet resourceSet = getResourceSet(modeluri);
+      if (resourceSet == null) {
+         return Optional.empty();
+      }
+      return Optional.ofNullable(resourceSet.getResource(createURI(modeluri), false))
+         .map(resource -> UmlModelRevisionAdapter.getOrCreate(resource).getRevision());
    }
 
    public boolean addUmlResources(final String modeluri, final String diagramType) {
       URI umlModelUri = createURI(modeluri);
-      ResourceSet resourceSet = new ResourceSetImpl();
-      resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(UMLResource.FILE_EXTENSION,
-         UMLResource.Factory.INSTANCE);
-      UMLResourcesUtil.init(resourceSet);
-      resourceSets.put(umlModelUri, resourceSet);
-      loadResourceLibraries(resourceSet);
+      ResourceSet resourceSet = createUmlResourceSet();
 
       final Model umlModel = createNewModel(umlModelUri);
 
@@ -170,7 +422,7 @@ public class UmlModelResourceManager extends RecordingModelResourceManager {
          resourceSet.getResources().add(umlNotationResource);
          umlNotationResource.getContents().add(createNewDiagram(umlModel, diagramType));
          umlNotationResource.save(null);
-         createEditingDomain(resourceSet);
+         registerResourceSet(umlModelUri, resourceSet);
 
       } catch (IOException e) {
          return false;
@@ -179,14 +431,43 @@ public class UmlModelResourceManager extends RecordingModelResourceManager {
       return true;
    }
 
-   protected Model createNewModel(final URI modelUri) {
+   /**
+    * Writes references as if the exported resources were saved at their target URIs, so relative references are
+    * resolved from the target location and references between the exported resources point at the copies.
+    */
+   protected static class ExportUriHandler extends URIHandlerImpl {
+      private final Map<URI, URI> targetUris;
+
+      public ExportUriHandler(final Map<URI, URI> targetUris) {
+         this.targetUris = targetUris;
+      }
+
+      @Override
+      public void setBaseURI(final URI uri) {
+         super.setBaseURI(targetUris.getOrDefault(uri, uri));
+      }
+
+      @Override
+      public URI deresolve(final URI uri) {
+         URI targetUri = targetUris.get(uri.trimFragment());
+         return super.deresolve(targetUri == null ? uri : targetUri.appendFragment(uri.fragment()));
+      }
+   }
+
+   /**
+    * Creates an empty model that is named after the given model uri.
+    */
+   public static Model createNewModel(final URI modelUri) {
       Model newModel = UMLFactory.eINSTANCE.createModel();
       String modelName = modelUri.lastSegment().split("." + modelUri.fileExtension())[0];
       newModel.setName(modelName);
       return newModel;
    }
 
-   protected Diagram createNewDiagram(final Model model, final String diagramType) {
+   /**
+    * Creates an empty diagram of the given type for the model, the model has to be contained in its resource.
+    */
+   public static Diagram createNewDiagram(final Model model, final String diagramType) {
       Diagram newDiagram = UnotationFactory.eINSTANCE.createDiagram();
       SemanticProxy semanticProxy = UnotationFactory.eINSTANCE.createSemanticProxy();
       semanticProxy.setUri(EcoreUtil.getURI(model).fragment());
@@ -0,0 +1,86 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Counts the changes of the contents of a resource. The resulting revision allows clients to validate cached copies
+ * of the model without fetching and decoding it again. The adapter also keeps the number of elements contained in the
+ * resource, so it does not need to be computed by iterating over the model.
+ */
+public class UmlModelRevisionAdapter extends EContentAdapter {
+
+   // distinguishes revisions of different server runs
+   private static final String SERVER_INSTANCE_ID = UUID.randomUUID().toString();
+   // distinguishes revisions of different resources loaded for the same URI, e.g. after a reload
+   private static final AtomicLong ADAPTER_SEQUENCE = new AtomicLong();
+
+   private final long adapterId = ADAPTER_SEQUENCE.incrementAndGet();
+   private final AtomicLong revision = new AtomicLong();
+   private final AtomicLong elements = new AtomicLong();
+
+   public static UmlModelRevisionAdapter getOrCreate(final Resource resource) {
+      synchronized (resource) {
+         UmlModelRevisionAdapter adapter = (UmlModelRevisionAdapter) EcoreUtil.getExistingAdapter(resource,
+            UmlModelRevisionAdapter.class);
+         if (adapter == null) {
+            adapter = new UmlModelRevisionAdapter();
+            resource.eAdapters().add(adapter);
+         }
+         return adapter;
+      }
+   }
+
+   @Override
+   public boolean isAdapterForType(final Object type) {
+      return UmlModelRevisionAdapter.class.equals(type);
+   }
+
+   @Override
+   public void notifyChanged(final Notification notification) {
+      super.notifyChanged(notification);
+      if (notification.isTouch()) {
+         return;
+      }
+      // ignore resource state changes like isModified or isLoaded
+      if (notification.getNotifier() instanceof EObject
+         || notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+         revision.incrementAndGet();
+      }
+   }
+
+   // called for every object that becomes part of the resource, including the initial contents
+   @Override
+   protected void setTarget(final EObject target) {
+      super.setTarget(target);
+      elements.incrementAndGet();
+   }
+
+   // called for every object that is removed from the resource
+   @Override
+   protected void unsetTarget(final EObject target) {
+      super.unsetTarget(target);
+      elements.decrementAndGet();
+   }
+
+   public String getRevision() { return SERVER_INSTANCE_ID + "-" + adapterId + "-" + revision.get(); }
+
+   public long getElementCount() { return elements.get(); }
+
+}
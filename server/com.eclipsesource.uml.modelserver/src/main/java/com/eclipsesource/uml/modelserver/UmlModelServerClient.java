@@ -42,6 +42,11 @@ public class UmlModelServerClient extends ModelServerClient {
 
    private static Logger LOGGER = Logger.getLogger(UmlModelServerClient.class.getSimpleName());
 
+   // the codecs are stateless, so all decodes share the same instances
+   private static final UmlCodec UML_CODEC = new UmlCodec();
+   private static final XmiCodec XMI_CODEC = new XmiCodec();
+   private static final DefaultJsonCodec JSON_CODEC = new DefaultJsonCodec();
+
    public UmlModelServerClient(final String baseUrl) throws MalformedURLException {
       super(baseUrl);
    }
@@ -55,11 +60,11 @@ public class UmlModelServerClient extends ModelServerClient {
    public Optional<EObject> decode(final String payload, final String format) {
       try {
          if (format.equals(UMLResource.FILE_EXTENSION)) {
-            return new UmlCodec().decode(payload);
+            return UML_CODEC.decode(payload);
          } else if (format.equals(ModelServerPathParametersV1.FORMAT_XMI)) {
-            return new XmiCodec().decode(payload);
+            return XMI_CODEC.decode(payload);
          }
-         return new DefaultJsonCodec().decode(payload);
+         return JSON_CODEC.decode(payload);
       } catch (DecodingException e) {
          LOGGER.error("Decoding of " + payload + " with " + format + " format failed");
       }
@@ -86,4 +91,50 @@ public class UmlModelServerClient extends ModelServerClient {
          }));
    }
 
+   /**
+    * Returns the sorted type names starting with the given prefix, skipping the first offset names and returning at
+    * most limit names.
+    */
+   public CompletableFuture<Response<List<String>>> getUmlTypes(final String modelUri, final String prefix,
+      final int offset, final int limit) {
+      final Request request = new Request.Builder()
+         .url(
+            createHttpUrlBuilder(baseUrl + UmlModelServerPaths.UML_TYPES)
+               .addQueryParameter(ModelServerPathParametersV1.MODEL_URI, modelUri)
+               .addQueryParameter(UmlModelServerPathsParameters.TYPE_PREFIX, prefix)
+               .addQueryParameter(UmlModelServerPathsParameters.OFFSET, String.valueOf(offset))
+               .addQueryParameter(UmlModelServerPathsParameters.LIMIT, String.valueOf(limit))
+               .build())
+         .build();
+
+      return makeCallAndGetDataBody(request)
+         .thenApply(response -> response.mapBody(body -> {
+            List<String> names = new ArrayList<>();
+            try {
+               Json.parse(body).forEach(name -> names.add(name.textValue()));
+               return names;
+            } catch (IOException e) {
+               throw new CompletionException(e);
+            }
+         }));
+   }
+
+   public CompletableFuture<Response<String>> getModelRevision(final String modelUri) {
+      final Request request = new Request.Builder()
+         .url(
+            createHttpUrlBuilder(baseUrl + UmlModelServerPaths.UML_REVISION)
+               .addQueryParameter(ModelServerPathParametersV1.MODEL_URI, modelUri)
+               .build())
+         .build();
+
+      return makeCallAndGetDataBody(request)
+         .thenApply(response -> response.mapBody(body -> {
+            try {
+               return Json.parse(body).textValue();
+            } catch (IOException e) {
+               throw new CompletionException(e);
+            }
+         }));
+   }
+
 }
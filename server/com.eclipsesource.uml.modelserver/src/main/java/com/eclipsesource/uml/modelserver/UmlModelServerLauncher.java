@@ -17,9 +17,12 @@ package com.eclipsesource.uml.modelserver;
 
 import org.eclipse.emfcloud.modelserver.emf.launch.ModelServerLauncher;
 
+import com.eclipsesource.uml.modelserver.metrics.UmlFlightRecorder;
+
 public class UmlModelServerLauncher {
 
 	public static void main(String[] args) {
+		UmlFlightRecorder.start(args);
 		final ModelServerLauncher launcher = new ModelServerLauncher(new UmlModelServerModule());
 		launcher.run();
 	}
@@ -0,0 +1,344 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.command.BasicCommandStack;
+import org.eclipse.emf.common.command.CommandStack;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+
+import com.eclipsesource.uml.modelserver.metrics.LatencyHistogram;
+import com.eclipsesource.uml.modelserver.metrics.SimpleMetricsRegistry;
+import com.eclipsesource.uml.modelserver.metrics.SimpleMetricsRegistry.HistogramTimer;
+import com.eclipsesource.uml.modelserver.metrics.SimpleMetricsRegistry.MeterId;
+import com.eclipsesource.uml.modelserver.metrics.SimpleMetricsRegistry.SimpleCounter;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
+
+/**
+ * Writes the state of the model server in the Prometheus text format: the loaded resource sets, the elements and the
+ * estimated heap of each model, the depth of the command stacks, the subscriptions, and the timers and counters of
+ * the {@link SimpleMetricsRegistry}, e.g. the latencies of edit, save and undo.
+ * <p>
+ * The model gauges are read in an exclusive transaction of each model. The element counts are maintained
+ * incrementally, the heap of a model is estimated from the number of objects, their features and string values, it
+ * does not include shared library resources. The estimate of a resource is cached until its revision changes.
+ * </p>
+ */
+public class UmlModelServerMetrics {
+
+   private static Logger LOGGER = Logger.getLogger(UmlModelServerMetrics.class.getSimpleName());
+
+   public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+   private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+   // shallow sizes of a 64-bit JVM with compressed references
+   private static final int OBJECT_BYTES = 16;
+   private static final int REFERENCE_BYTES = 4;
+   private static final int LIST_BYTES = 40;
+   private static final int STRING_BYTES = 40;
+
+   // BasicCommandStack does not expose the size of its stack, so its protected fields are read
+   private static final Field COMMAND_LIST = findField("commandList");
+   private static final Field TOP = findField("top");
+
+   private final UmlModelResourceManager resourceManager;
+   private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+   private final Map<String, HeapEstimate> heapEstimates = new ConcurrentHashMap<>();
+
+   public UmlModelServerMetrics(final UmlModelResourceManager resourceManager) {
+      this.resourceManager = resourceManager;
+   }
+
+   public void subscribed(final String sessionId, final String modelUri) {
+      subscriptions.put(sessionId, String.valueOf(modelUri));
+   }
+
+   public void unsubscribed(final String sessionId) {
+      subscriptions.remove(sessionId);
+   }
+
+   public String scrape() {
+      StringBuilder builder = new StringBuilder();
+      Map<URI, ResourceSet> models = resourceManager.getLoadedModels();
+      gauge(builder, "uml_modelserver_resource_sets", "Number of loaded resource sets");
+      sample(builder, "uml_modelserver_resource_sets", "", models.size());
+
+      Map<URI, ModelSnapshot> snapshots = new TreeMap<>(Comparator.comparing(URI::toString));
+      models.forEach((modelUri, resourceSet) -> readExclusive(resourceSet, () -> snapshot(resourceSet))
+         .ifPresent(snapshot -> snapshots.put(modelUri, snapshot)));
+      // drop the estimates of unloaded resources
+      heapEstimates.keySet().retainAll(snapshots.values().stream()
+         .flatMap(snapshot -> snapshot.elements.keySet().stream())
+         .collect(Collectors.toSet()));
+
+      gauge(builder, "uml_modelserver_model_elements", "Number of elements per model resource");
+      snapshots.forEach((modelUri, snapshot) -> snapshot.elements.forEach((resourceUri, count) -> sample(builder,
+         "uml_modelserver_model_elements", labels("model", modelUri.toString(), "resource", resourceUri), count)));
+
+      gauge(builder, "uml_modelserver_model_heap_bytes", "Estimated heap of the elements of a model");
+      snapshots.forEach((modelUri, snapshot) -> sample(builder, "uml_modelserver_model_heap_bytes",
+         labels("model", modelUri.toString()), snapshot.heapBytes));
+
+      gauge(builder, "uml_modelserver_command_stack_depth", "Number of undoable and redoable commands per model");
+      snapshots.forEach((modelUri, snapshot) -> {
+         if (snapshot.undoDepth >= 0) {
+            sample(builder, "uml_modelserver_command_stack_depth",
+               labels("model", modelUri.toString(), "stack", "undo"), snapshot.undoDepth);
+            sample(builder, "uml_modelserver_command_stack_depth",
+               labels("model", modelUri.toString(), "stack", "redo"), snapshot.redoDepth);
+         }
+      });
+
+      gauge(builder, "uml_modelserver_subscriptions", "Number of subscriptions per model");
+      subscriptions.values().stream()
+         .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()))
+         .forEach((modelUri, count) -> sample(builder, "uml_modelserver_subscriptions", labels("model", modelUri),
+            count));
+
+      Runtime runtime = Runtime.getRuntime();
+      gauge(builder, "uml_modelserver_heap_used_bytes", "Used heap of the model server");
+      sample(builder, "uml_modelserver_heap_used_bytes", "", runtime.totalMemory() - runtime.freeMemory());
+
+      if (UmlMetrics.getRegistry() instanceof SimpleMetricsRegistry) {
+         SimpleMetricsRegistry registry = (SimpleMetricsRegistry) UmlMetrics.getRegistry();
+         writeTimers(builder, registry.getTimers().values());
+         writeCounters(builder, registry.getCounters().values());
+      }
+      return builder.toString();
+   }
+
+   protected void writeTimers(final StringBuilder builder, final Collection<HistogramTimer> timers) {
+      Map<String, List<HistogramTimer>> timersByName = timers.stream()
+         .collect(Collectors.groupingBy(timer -> metricName(timer.getId()) + "_seconds", TreeMap::new,
+            Collectors.toList()));
+      timersByName.forEach((name, namedTimers) -> {
+         builder.append("# TYPE ").append(name).append(" summary\n");
+         for (HistogramTimer timer : namedTimers) {
+            LatencyHistogram histogram = timer.getHistogram();
+            Map<String, String> tags = timer.getId().getTags();
+            for (double quantile : QUANTILES) {
+               sample(builder, name, labels(tags, "quantile", String.valueOf(quantile)),
+                  seconds(histogram.getValueAtPercentile(quantile)));
+            }
+            sample(builder, name + "_count", labels(tags), histogram.getCount());
+            sample(builder, name + "_sum", labels(tags), seconds(histogram.getTotalNanos()));
+         }
+         builder.append("# TYPE ").append(name).append("_max gauge\n");
+         for (HistogramTimer timer : namedTimers) {
+            sample(builder, name + "_max", labels(timer.getId().getTags()),
+               seconds(timer.getHistogram().getMaxNanos()));
+         }
+      });
+   }
+
+   protected void writeCounters(final StringBuilder builder, final Collection<SimpleCounter> counters) {
+      Map<String, List<SimpleCounter>> countersByName = counters.stream()
+         .collect(Collectors.groupingBy(counter -> metricName(counter.getId()) + "_total", TreeMap::new,
+            Collectors.toList()));
+      countersByName.forEach((name, namedCounters) -> {
+         builder.append("# TYPE ").append(name).append(" counter\n");
+         for (SimpleCounter counter : namedCounters) {
+            sample(builder, name, labels(counter.getId().getTags()), counter.getCount());
+         }
+      });
+   }
+
+   /**
+    * Reads the state of a model. The element counts and revisions are maintained by the
+    * {@link UmlModelRevisionAdapter}, the heap estimate only iterates over resources that changed since the last
+    * scrape.
+    */
+   protected ModelSnapshot snapshot(final ResourceSet resourceSet) {
+      ModelSnapshot snapshot = new ModelSnapshot();
+      for (Resource resource : List.copyOf(resourceSet.getResources())) {
+         if (resource.getURI().isFile()) {
+            String resourceUri = resource.getURI().toString();
+            UmlModelRevisionAdapter revisionAdapter = UmlModelRevisionAdapter.getOrCreate(resource);
+            snapshot.elements.put(resourceUri, revisionAdapter.getElementCount());
+            snapshot.heapBytes += getHeapEstimate(resourceUri, resource, revisionAdapter.getRevision());
+         }
+      }
+      CommandStack commandStack = getCommandStack(resourceSet);
+      if (commandStack instanceof BasicCommandStack && TOP != null && COMMAND_LIST != null) {
+         try {
+            int top = TOP.getInt(commandStack);
+            int size = ((List<?>) COMMAND_LIST.get(commandStack)).size();
+            snapshot.undoDepth = top + 1;
+            snapshot.redoDepth = size - top - 1;
+         } catch (IllegalAccessException e) {
+            LOGGER.debug("Could not read the command stack", e);
+         }
+      }
+      return snapshot;
+   }
+
+   /**
+    * Runs the read in an exclusive transaction of the editing domain of the resource set, so it does not interfere
+    * with commands executed concurrently.
+    */
+   protected static <T> Optional<T> readExclusive(final ResourceSet resourceSet, final Supplier<T> read) {
+      TransactionalEditingDomain domain = TransactionUtil.getEditingDomain(resourceSet);
+      if (domain == null) {
+         return Optional.ofNullable(read.get());
+      }
+      AtomicReference<T> result = new AtomicReference<>();
+      try {
+         domain.runExclusive(() -> result.set(read.get()));
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      return Optional.ofNullable(result.get());
+   }
+
+   protected static long countElements(final Resource resource) {
+      long count = 0;
+      for (TreeIterator<EObject> contents = resource.getAllContents(); contents.hasNext(); contents.next()) {
+         count++;
+      }
+      return count;
+   }
+
+   protected long getHeapEstimate(final String resourceUri, final Resource resource, final String revision) {
+      HeapEstimate estimate = heapEstimates.get(resourceUri);
+      if (estimate == null || !estimate.revision.equals(revision)) {
+         estimate = new HeapEstimate(revision, estimateHeap(resource));
+         heapEstimates.put(resourceUri, estimate);
+      }
+      return estimate.bytes;
+   }
+
+   protected static long estimateHeap(final Resource resource) {
+      long bytes = 0;
+      for (TreeIterator<EObject> contents = resource.getAllContents(); contents.hasNext();) {
+         EObject element = contents.next();
+         bytes += OBJECT_BYTES + REFERENCE_BYTES * element.eClass().getFeatureCount();
+         for (EStructuralFeature feature : element.eClass().getEAllStructuralFeatures()) {
+            if (feature.isDerived() || feature.isTransient() || !element.eIsSet(feature)) {
+               continue;
+            }
+            Object value = element.eGet(feature, false);
+            if (value instanceof String) {
+               bytes += STRING_BYTES + ((String) value).length();
+            } else if (value instanceof Collection) {
+               bytes += LIST_BYTES + REFERENCE_BYTES * ((Collection<?>) value).size();
+            }
+         }
+      }
+      return bytes;
+   }
+
+   protected static CommandStack getCommandStack(final ResourceSet resourceSet) {
+      TransactionalEditingDomain domain = TransactionUtil.getEditingDomain(resourceSet);
+      return domain == null ? null : domain.getCommandStack();
+   }
+
+   protected static String metricName(final MeterId id) {
+      return id.getName().replaceAll("[^a-zA-Z0-9_]", "_");
+   }
+
+   protected static void gauge(final StringBuilder builder, final String name, final String help) {
+      builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+      builder.append("# TYPE ").append(name).append(" gauge\n");
+   }
+
+   protected static void sample(final StringBuilder builder, final String name, final String labels,
+      final double value) {
+      builder.append(name).append(labels).append(' ');
+      if (value == Math.rint(value) && !Double.isInfinite(value)) {
+         builder.append((long) value);
+      } else {
+         builder.append(value);
+      }
+      builder.append('\n');
+   }
+
+   protected static String labels(final String... keysAndValues) {
+      Map<String, String> labels = new TreeMap<>();
+      for (int i = 0; i < keysAndValues.length; i += 2) {
+         labels.put(keysAndValues[i], keysAndValues[i + 1]);
+      }
+      return labels(labels);
+   }
+
+   protected static String labels(final Map<String, String> tags, final String... keysAndValues) {
+      if (tags.isEmpty() && keysAndValues.length == 0) {
+         return "";
+      }
+      StringBuilder builder = new StringBuilder("{");
+      tags.forEach((key, value) -> appendLabel(builder, key, value));
+      for (int i = 0; i < keysAndValues.length; i += 2) {
+         appendLabel(builder, keysAndValues[i], keysAndValues[i + 1]);
+      }
+      builder.setCharAt(builder.length() - 1, '}');
+      return builder.toString();
+   }
+
+   private static void appendLabel(final StringBuilder builder, final String key, final String value) {
+      builder.append(key).append("=\"")
+         .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+         .append("\",");
+   }
+
+   protected static class HeapEstimate {
+      private final String revision;
+      private final long bytes;
+
+      HeapEstimate(final String revision, final long bytes) {
+         this.revision = revision;
+         this.bytes = bytes;
+      }
+   }
+
+   protected static class ModelSnapshot {
+      private final Map<String, Long> elements = new TreeMap<>();
+      private long heapBytes;
+      private int undoDepth = -1;
+      private int redoDepth = -1;
+   }
+
+   private static double seconds(final long nanos) {
+      return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+   }
+
+   private static Field findField(final String name) {
+      try {
+         Field field = BasicCommandStack.class.getDeclaredField(name);
+         field.setAccessible(true);
+         return field;
+      } catch (ReflectiveOperationException | RuntimeException e) {
+         LOGGER.warn("The depth of the command stacks is not exported: " + e.getMessage());
+         return null;
+      }
+   }
+
+}
@@ -40,6 +40,7 @@ import com.eclipsesource.uml.modelserver.commands.contributions.RemoveClassComma
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveCommentCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveCommentEdgeCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveComponentCommandContribution;
+import com.eclipsesource.uml.modelserver.commands.contributions.RemoveElementsCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveExtendCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveExtensionPointCommandContribution;
 import com.eclipsesource.uml.modelserver.commands.contributions.RemoveGeneralizationCommandContribution;
@@ -140,6 +141,9 @@ public class UmlModelServerModule extends DefaultModelServerModule {
       binding.put(AddGeneralizationCommandContribution.TYPE, AddGeneralizationCommandContribution.class);
       binding.put(RemoveGeneralizationCommandContribution.TYPE, RemoveGeneralizationCommandContribution.class);
 
+      // Batch delete
+      binding.put(RemoveElementsCommandContribution.TYPE, RemoveElementsCommandContribution.class);
+
    }
 
    @Override
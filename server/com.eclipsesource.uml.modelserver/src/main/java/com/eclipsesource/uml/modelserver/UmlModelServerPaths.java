@@ -16,5 +16,8 @@ public interface UmlModelServerPaths extends ModelServerPathsV1 {
 
    String UML_TYPES = "uml/types";
    String UML_CREATE = "uml/create";
+   String UML_REVISION = "uml/revision";
+   String UML_EXPORT = "uml/export";
+   String METRICS = "metrics";
 
 }
@@ -15,5 +15,9 @@ import org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1;
 public interface UmlModelServerPathsParameters extends ModelServerPathParametersV1 {
 
    String DIAGRAM_TYPE = "diagramtype";
+   String TYPE_PREFIX = "prefix";
+   String OFFSET = "offset";
+   String LIMIT = "limit";
+   String TARGET_URI = "target";
 
 }
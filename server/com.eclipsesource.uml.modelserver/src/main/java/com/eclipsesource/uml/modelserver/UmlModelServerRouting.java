@@ -10,8 +10,13 @@
  ********************************************************************************/
 package com.eclipsesource.uml.modelserver;
 
+import static io.javalin.apibuilder.ApiBuilder.after;
+import static io.javalin.apibuilder.ApiBuilder.before;
 import static io.javalin.apibuilder.ApiBuilder.get;
 import static io.javalin.apibuilder.ApiBuilder.path;
+import static io.javalin.apibuilder.ApiBuilder.post;
+
+import java.util.Optional;
 
 import org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1;
 import org.eclipse.emfcloud.modelserver.common.ModelServerPathsV1;
@@ -24,25 +29,46 @@ import org.eclipse.emfcloud.modelserver.emf.common.SchemaController;
 import org.eclipse.emfcloud.modelserver.emf.common.ServerController;
 import org.eclipse.emfcloud.modelserver.emf.common.SessionController;
 import org.eclipse.emfcloud.modelserver.emf.common.codecs.JsonCodec;
+import org.eclipse.emfcloud.modelserver.jsonschema.Json;
 
+import com.eclipsesource.uml.modelserver.commands.contributions.InstrumentedCommand;
+import com.eclipsesource.uml.modelserver.metrics.UmlCorrelation;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
 import com.google.inject.Inject;
 
 import io.javalin.Javalin;
 import io.javalin.http.Context;
+import io.javalin.websocket.WsHandler;
 
 public class UmlModelServerRouting extends ModelServerRoutingV1 {
 
+   private final UmlModelServerMetrics metrics;
+
    @Inject
    public UmlModelServerRouting(final Javalin javalin, final ModelResourceManager resourceManager,
       final ModelController modelController, final SchemaController schemaController,
       final ServerController serverController, final SessionController sessionController) {
       super(javalin, resourceManager, modelController, schemaController, serverController, sessionController);
+      this.metrics = new UmlModelServerMetrics((UmlModelResourceManager) resourceManager);
    }
 
    protected void getUmlTypes(final Context ctx) {
       getResolvedFileUri(ctx, ModelServerPathParametersV1.MODEL_URI).ifPresent(
          param -> {
             try {
+               if (isTypeQuery(ctx)) {
+                  // prefix filtered and paged query
+                  Optional<String> prefix = getQueryParam(ctx, UmlModelServerPathsParameters.TYPE_PREFIX);
+                  Optional<Integer> offset = getIntQueryParam(ctx, UmlModelServerPathsParameters.OFFSET);
+                  Optional<Integer> limit = getIntQueryParam(ctx, UmlModelServerPathsParameters.LIMIT);
+                  if (offset.isEmpty() || limit.isEmpty()) {
+                     ctx.json(JsonResponse.error());
+                     return;
+                  }
+                  ctx.json(JsonResponse.success(JsonCodec.encode(((UmlModelResourceManager) resourceManager)
+                     .getUmlTypes(param, prefix.orElse(""), offset.get(), limit.get()))));
+                  return;
+               }
                ctx.json(JsonResponse
                   .success(JsonCodec.encode(((UmlModelResourceManager) resourceManager).getUmlTypes(param))));
             } catch (EncodingException e) {
@@ -54,6 +80,37 @@ public class UmlModelServerRouting extends ModelServerRoutingV1 {
       // () -> missingParameter(ctx, ModelServerPathParametersV1.MODEL_URI));
    }
 
+   protected boolean isTypeQuery(final Context ctx) {
+      return ctx.queryParamMap().containsKey(UmlModelServerPathsParameters.TYPE_PREFIX)
+         || ctx.queryParamMap().containsKey(UmlModelServerPathsParameters.OFFSET)
+         || ctx.queryParamMap().containsKey(UmlModelServerPathsParameters.LIMIT);
+   }
+
+   protected Optional<String> getQueryParam(final Context ctx, final String name) {
+      if (ctx.queryParamMap().containsKey(name) && !ctx.queryParamMap().get(name).isEmpty()) {
+         return Optional.of(ctx.queryParamMap().get(name).get(0));
+      }
+      return Optional.empty();
+   }
+
+   /**
+    * Returns the value of an optional int query parameter, 0 for the offset and -1 (no limit) for the limit if the
+    * parameter is missing or an empty Optional if the value is not a valid number.
+    */
+   protected Optional<Integer> getIntQueryParam(final Context ctx, final String name) {
+      Optional<String> value = getQueryParam(ctx, name);
+      if (value.isEmpty()) {
+         return Optional.of(UmlModelServerPathsParameters.LIMIT.equals(name) ? -1 : 0);
+      }
+      try {
+         int intValue = Integer.parseInt(value.get());
+         return intValue < 0 && UmlModelServerPathsParameters.OFFSET.equals(name) ? Optional.empty()
+            : Optional.of(intValue);
+      } catch (NumberFormatException e) {
+         return Optional.empty();
+      }
+   }
+
    protected void createUmlModel(final Context ctx) {
       getResolvedFileUri(ctx, ModelServerPathParametersV1.MODEL_URI).ifPresent(
          param -> {
@@ -69,8 +126,53 @@ public class UmlModelServerRouting extends ModelServerRoutingV1 {
       // () -> missingParameter(ctx, ModelServerPathParametersV1.MODEL_URI));
    }
 
+   protected void exportUmlModel(final Context ctx) {
+      getResolvedFileUri(ctx, ModelServerPathParametersV1.MODEL_URI).ifPresent(
+         param -> {
+            Optional<String> target = getQueryParam(ctx, UmlModelServerPathsParameters.TARGET_URI);
+            boolean result = target.isPresent() && ((UmlModelResourceManager) resourceManager).exportAsXmi(param,
+               resourceManager.adaptModelUri(target.get()));
+            ctx.json(result ? JsonResponse.success() : JsonResponse.error());
+         });
+   }
+
+   protected void getModelRevision(final Context ctx) {
+      getResolvedFileUri(ctx, ModelServerPathParametersV1.MODEL_URI).ifPresent(
+         param -> {
+            Optional<String> revision = ((UmlModelResourceManager) resourceManager).getModelRevision(param);
+            ctx.json(revision.isPresent() ? JsonResponse.success(Json.text(revision.get())) : JsonResponse.error());
+         });
+   }
+
+   protected void getMetrics(final Context ctx) {
+      ctx.contentType(UmlModelServerMetrics.CONTENT_TYPE);
+      ctx.result(metrics.scrape());
+   }
+
+   /**
+    * Records the time from the end of the command execution until the request completes, which is spent sending the
+    * update notifications to the subscribers.
+    */
+   protected void recordNotification(final Context ctx, final String call) {
+      InstrumentedCommand.takeLastCompletion().ifPresent(completion -> {
+         String modelUri = String.valueOf(ctx.queryParam(ModelServerPathParametersV1.MODEL_URI));
+         UmlMetrics.timer(UmlMetrics.NOTIFICATION, UmlMetrics.TAG_CALL, call, UmlMetrics.TAG_MODEL, modelUri)
+            .recordSince(completion.getNanoTime());
+         UmlCorrelation.log(completion.getCorrelationId(), UmlCorrelation.NOTIFY, modelUri, call,
+            completion.getNanoTime());
+      });
+   }
+
+   // the subscription endpoint is the only web socket of the model server
+   protected void trackSubscriptions(final WsHandler ws) {
+      ws.onConnect(ctx -> metrics.subscribed(ctx.getSessionId(),
+         ctx.queryParam(ModelServerPathParametersV1.MODEL_URI)));
+      ws.onClose(ctx -> metrics.unsubscribed(ctx.getSessionId()));
+   }
+
    @Override
    public void bindRoutes() {
+      javalin.wsBefore(this::trackSubscriptions);
       javalin.routes(this::endpoints);
    }
 
@@ -81,6 +183,13 @@ public class UmlModelServerRouting extends ModelServerRoutingV1 {
    private void apiEndpoints() {
       get(UmlModelServerPaths.UML_TYPES, this::getUmlTypes);
       get(UmlModelServerPaths.UML_CREATE, this::createUmlModel);
+      get(UmlModelServerPaths.UML_REVISION, this::getModelRevision);
+      post(UmlModelServerPaths.UML_EXPORT, this::exportUmlModel);
+      get(UmlModelServerPaths.METRICS, this::getMetrics);
+      for (String call : new String[] { ModelServerPathsV1.EDIT, ModelServerPathsV1.UNDO, ModelServerPathsV1.REDO }) {
+         before(call, ctx -> InstrumentedCommand.takeLastCompletion());
+         after(call, ctx -> recordNotification(ctx, call));
+      }
    }
 
 }
@@ -0,0 +1,149 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import com.eclipsesource.uml.modelserver.unotation.Diagram;
+import com.eclipsesource.uml.modelserver.unotation.NotationElement;
+import com.eclipsesource.uml.modelserver.unotation.SemanticProxy;
+import com.eclipsesource.uml.modelserver.unotation.UnotationPackage;
+
+/**
+ * Indexes the notation elements of the diagrams in a notation resource by the uri of their semantic proxy. The
+ * index is updated on every added or removed notation element and on every changed semantic proxy.
+ */
+public class UmlNotationIndexAdapter extends EContentAdapter {
+
+   private final Map<String, NotationElement> notationElements = new ConcurrentHashMap<>();
+   private Resource resource;
+
+   public static UmlNotationIndexAdapter getOrCreate(final Resource resource) {
+      synchronized (resource) {
+         UmlNotationIndexAdapter adapter = (UmlNotationIndexAdapter) EcoreUtil.getExistingAdapter(resource,
+            UmlNotationIndexAdapter.class);
+         if (adapter == null) {
+            adapter = new UmlNotationIndexAdapter();
+            resource.eAdapters().add(adapter);
+            adapter.reindex(resource);
+         }
+         return adapter;
+      }
+   }
+
+   @Override
+   public boolean isAdapterForType(final Object type) {
+      return UmlNotationIndexAdapter.class.equals(type);
+   }
+
+   public NotationElement getNotationElement(final String semanticUri) {
+      return semanticUri == null ? null : notationElements.get(semanticUri);
+   }
+
+   @Override
+   public void notifyChanged(final Notification notification) {
+      super.notifyChanged(notification);
+      if (notification.isTouch()) {
+         return;
+      }
+      Object notifier = notification.getNotifier();
+      if (notifier instanceof Resource) {
+         int featureID = notification.getFeatureID(Resource.class);
+         if (featureID == Resource.RESOURCE__CONTENTS || featureID == Resource.RESOURCE__IS_LOADED) {
+            reindex((Resource) notifier);
+         }
+      } else if (notifier instanceof Diagram
+         && notification.getFeature() == UnotationPackage.Literals.DIAGRAM__ELEMENTS) {
+         unindexValue(notification.getOldValue());
+         indexValue(notification.getNewValue());
+      } else if (notifier instanceof NotationElement
+         && notification.getFeature() == UnotationPackage.Literals.NOTATION_ELEMENT__SEMANTIC_ELEMENT) {
+         NotationElement notationElement = (NotationElement) notifier;
+         if (notification.getOldValue() instanceof SemanticProxy) {
+            unindex(((SemanticProxy) notification.getOldValue()).getUri(), notationElement);
+         }
+         index(notationElement);
+      } else if (notifier instanceof SemanticProxy
+         && notification.getFeature() == UnotationPackage.Literals.SEMANTIC_PROXY__URI
+         && ((SemanticProxy) notifier).eContainer() instanceof NotationElement) {
+         NotationElement notationElement = (NotationElement) ((SemanticProxy) notifier).eContainer();
+         unindex(notification.getOldStringValue(), notationElement);
+         index(notationElement);
+      }
+   }
+
+   protected void reindex(final Resource resource) {
+      this.resource = resource;
+      notationElements.clear();
+      for (EObject root : resource.getContents()) {
+         if (root instanceof Diagram) {
+            ((Diagram) root).getElements().forEach(this::index);
+         }
+      }
+   }
+
+   protected Optional<NotationElement> findNotationElement(final String semanticUri) {
+      for (EObject root : resource.getContents()) {
+         if (root instanceof Diagram) {
+            for (NotationElement element : ((Diagram) root).getElements()) {
+               if (element.getSemanticElement() != null
+                  && semanticUri.equals(element.getSemanticElement().getUri())) {
+                  return Optional.of(element);
+               }
+            }
+         }
+      }
+      return Optional.empty();
+   }
+
+   protected void indexValue(final Object value) {
+      if (value instanceof Collection<?>) {
+         ((Collection<?>) value).forEach(this::indexValue);
+      } else if (value instanceof NotationElement) {
+         index((NotationElement) value);
+      }
+   }
+
+   protected void unindexValue(final Object value) {
+      if (value instanceof Collection<?>) {
+         ((Collection<?>) value).forEach(this::unindexValue);
+      } else if (value instanceof NotationElement && ((NotationElement) value).getSemanticElement() != null) {
+         unindex(((NotationElement) value).getSemanticElement().getUri(), (NotationElement) value);
+      }
+   }
+
+   protected void index(final NotationElement notationElement) {
+      // only the direct elements of a diagram are indexed
+      if (!(notationElement.eContainer() instanceof Diagram) || notationElement.getSemanticElement() == null
+         || notationElement.getSemanticElement().getUri() == null) {
+         return;
+      }
+      // keep the first element for a uri, as the linear search through the diagram did
+      notationElements.putIfAbsent(notationElement.getSemanticElement().getUri(), notationElement);
+   }
+
+   protected void unindex(final String semanticUri, final NotationElement notationElement) {
+      if (semanticUri != null && notationElements.remove(semanticUri, notationElement) && resource != null) {
+         // another notation element may show the same semantic element, this is rare so the diagrams are searched
+         findNotationElement(semanticUri).ifPresent(other -> notationElements.putIfAbsent(semanticUri, other));
+      }
+   }
+
+}
@@ -0,0 +1,33 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+/**
+ * Resource set of a model that resolves references to the UML libraries against the {@link UmlSharedLibraries}
+ * instead of loading its own copy. The shared resources are not part of {@link #getResources()}.
+ */
+public class UmlResourceSet extends ResourceSetImpl {
+
+   @Override
+   protected Resource delegatedGetResource(final URI uri, final boolean loadOnDemand) {
+      URI resourceUri = uri.trimFragment();
+      Resource sharedResource = UmlSharedLibraries.getResource(resourceUri);
+      if (sharedResource == null) {
+         sharedResource = UmlSharedLibraries.getResource(getURIConverter().normalize(resourceUri));
+      }
+      return sharedResource != null ? sharedResource : super.delegatedGetResource(uri, loadOnDemand);
+   }
+
+}
@@ -0,0 +1,91 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.uml2.uml.resource.UMLResource;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+
+/**
+ * The UML and Ecore primitive type libraries and the Ecore profile, loaded once and shared by the resource sets of
+ * all models, see {@link UmlResourceSet}.
+ * <p>
+ * The libraries are loaded with all their references resolved, so the shared resources are never modified
+ * afterwards and may be read from several threads.
+ * </p>
+ */
+public final class UmlSharedLibraries {
+
+   private static Logger LOGGER = Logger.getLogger(UmlSharedLibraries.class.getSimpleName());
+
+   public static final List<String> LIBRARY_URIS = List.of(UMLResource.UML_PRIMITIVE_TYPES_LIBRARY_URI,
+      UMLResource.ECORE_PRIMITIVE_TYPES_LIBRARY_URI, UMLResource.ECORE_PROFILE_URI);
+
+   private UmlSharedLibraries() {}
+
+   /**
+    * Returns the shared resource with the given URI or null if there is none.
+    */
+   public static Resource getResource(final URI uri) {
+      return Holder.RESOURCES.get(uri);
+   }
+
+   public static ResourceSet getResourceSet() { return Holder.RESOURCE_SET; }
+
+   public static UmlTypeRegistryAdapter getTypeRegistry() { return Holder.TYPE_REGISTRY; }
+
+   // initialized on first use
+   private static final class Holder {
+      private static final ResourceSet RESOURCE_SET = new ResourceSetImpl();
+      private static final Map<URI, Resource> RESOURCES;
+      private static final UmlTypeRegistryAdapter TYPE_REGISTRY;
+
+      static {
+         UMLResourcesUtil.init(RESOURCE_SET);
+         for (String libraryUri : LIBRARY_URIS) {
+            try {
+               RESOURCE_SET.getResource(URI.createURI(libraryUri), true);
+            } catch (RuntimeException e) {
+               LOGGER.error("Could not load library " + libraryUri, e);
+            }
+         }
+         // also loads the resources referenced by the libraries
+         EcoreUtil.resolveAll(RESOURCE_SET);
+
+         Map<URI, Resource> resources = new HashMap<>();
+         for (Resource resource : RESOURCE_SET.getResources()) {
+            resources.put(resource.getURI(), resource);
+            resources.put(RESOURCE_SET.getURIConverter().normalize(resource.getURI()), resource);
+         }
+         RESOURCES = Collections.unmodifiableMap(resources);
+
+         // only the types of the libraries themselves, not the ones of the resolved metamodels
+         TYPE_REGISTRY = new UmlTypeRegistryAdapter();
+         for (String libraryUri : LIBRARY_URIS) {
+            Resource library = RESOURCES.get(URI.createURI(libraryUri));
+            if (library != null) {
+               library.eAdapters().add(TYPE_REGISTRY);
+            }
+         }
+      }
+   }
+
+}
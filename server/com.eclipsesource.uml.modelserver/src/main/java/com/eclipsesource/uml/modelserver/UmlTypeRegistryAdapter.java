@@ -0,0 +1,163 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.uml2.uml.DataType;
+import org.eclipse.uml2.uml.Type;
+import org.eclipse.uml2.uml.UMLPackage;
+
+/**
+ * Registry of the data types and classes of all resources in a resource set, including the loaded libraries. The
+ * types are indexed by name and the index is kept up to date with added, removed and renamed types.
+ */
+public class UmlTypeRegistryAdapter extends EContentAdapter {
+
+   private final SortedMap<String, Set<Type>> types = new TreeMap<>();
+   // registry of the shared UML libraries, see UmlResourceSet
+   private UmlTypeRegistryAdapter libraryRegistry;
+
+   public static UmlTypeRegistryAdapter getOrCreate(final ResourceSet resourceSet) {
+      synchronized (resourceSet) {
+         UmlTypeRegistryAdapter adapter = (UmlTypeRegistryAdapter) EcoreUtil.getExistingAdapter(resourceSet,
+            UmlTypeRegistryAdapter.class);
+         if (adapter == null) {
+            adapter = new UmlTypeRegistryAdapter();
+            if (resourceSet instanceof UmlResourceSet) {
+               adapter.libraryRegistry = UmlSharedLibraries.getTypeRegistry();
+            }
+            resourceSet.eAdapters().add(adapter);
+         }
+         return adapter;
+      }
+   }
+
+   @Override
+   public boolean isAdapterForType(final Object type) {
+      return UmlTypeRegistryAdapter.class.equals(type);
+   }
+
+   /**
+    * Returns a type with the given name or null if there is none. Library types are preferred over model types.
+    */
+   public Type getType(final String name) {
+      Type libraryType = libraryRegistry != null ? libraryRegistry.getType(name) : null;
+      if (libraryType != null) {
+         return libraryType;
+      }
+      synchronized (this) {
+         Set<Type> typesWithName = name == null ? null : types.get(name);
+         return typesWithName == null || typesWithName.isEmpty() ? null : typesWithName.iterator().next();
+      }
+   }
+
+   public List<String> getTypeNames() { return getTypeNames("", 0, -1); }
+
+   /**
+    * Returns the sorted names of the types starting with the given prefix.
+    *
+    * @param prefix the prefix of the names, all names are returned for an empty prefix
+    * @param offset the number of matching names to skip
+    * @param limit  the maximum number of names to return, a negative limit returns all remaining names
+    */
+   public List<String> getTypeNames(final String prefix, final int offset, final int limit) {
+      SortedSet<String> matches = new TreeSet<>();
+      if (libraryRegistry != null) {
+         matches.addAll(libraryRegistry.getMatchingNames(prefix));
+      }
+      matches.addAll(getMatchingNames(prefix));
+      List<String> result = new ArrayList<>();
+      int skipped = 0;
+      for (String name : matches) {
+         if (limit >= 0 && result.size() >= limit) {
+            break;
+         }
+         if (skipped < offset) {
+            skipped++;
+            continue;
+         }
+         result.add(name);
+      }
+      return result;
+   }
+
+   protected synchronized Set<String> getMatchingNames(final String prefix) {
+      SortedMap<String, Set<Type>> matches = prefix == null || prefix.isEmpty() ? types
+         : types.subMap(prefix, prefix + Character.MAX_VALUE);
+      return new TreeSet<>(matches.keySet());
+   }
+
+   @Override
+   public void notifyChanged(final Notification notification) {
+      super.notifyChanged(notification);
+      if (notification.isTouch() || notification.getFeature() != UMLPackage.Literals.NAMED_ELEMENT__NAME
+         || !isRegisteredType(notification.getNotifier())) {
+         return;
+      }
+      synchronized (this) {
+         unregister(notification.getOldStringValue(), (Type) notification.getNotifier());
+         register(notification.getNewStringValue(), (Type) notification.getNotifier());
+      }
+   }
+
+   // called for every object that is added to the resource set, including the initial contents
+   @Override
+   protected void setTarget(final EObject target) {
+      super.setTarget(target);
+      if (isRegisteredType(target)) {
+         synchronized (this) {
+            register(((Type) target).getName(), (Type) target);
+         }
+      }
+   }
+
+   // called for every object that is removed or unloaded from the resource set
+   @Override
+   protected void unsetTarget(final EObject target) {
+      super.unsetTarget(target);
+      if (isRegisteredType(target)) {
+         synchronized (this) {
+            unregister(((Type) target).getName(), (Type) target);
+         }
+      }
+   }
+
+   protected boolean isRegisteredType(final Object object) {
+      return object instanceof DataType || object instanceof org.eclipse.uml2.uml.Class;
+   }
+
+   protected void register(final String name, final Type type) {
+      if (name != null) {
+         types.computeIfAbsent(name, key -> new LinkedHashSet<>()).add(type);
+      }
+   }
+
+   protected void unregister(final String name, final Type type) {
+      Set<Type> typesWithName = name == null ? null : types.get(name);
+      if (typesWithName != null && typesWithName.remove(type) && typesWithName.isEmpty()) {
+         types.remove(name);
+      }
+   }
+
+}
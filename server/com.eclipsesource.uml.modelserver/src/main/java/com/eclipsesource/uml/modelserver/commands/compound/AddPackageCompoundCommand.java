@@ -32,4 +32,16 @@ public class AddPackageCompoundCommand extends CompoundCommand {
       this.append(new AddPackageShapeCommand(domain, modelUri, classPosition, semanticResultSupplier));
    }
 
+   /**
+    * Adding Package inside other package
+    */
+   public AddPackageCompoundCommand(final EditingDomain domain, final URI modelUri, final GPoint classPosition,
+      final String parentSemanticUri) {
+      // Chain semantic and notation command
+      AddPackageCommand command = new AddPackageCommand(domain, modelUri, parentSemanticUri);
+      this.append(command);
+      Supplier<Package> semanticResultSupplier = () -> command.getNewPackage();
+      this.append(new AddPackageShapeCommand(domain, modelUri, classPosition, semanticResultSupplier));
+   }
+
 }
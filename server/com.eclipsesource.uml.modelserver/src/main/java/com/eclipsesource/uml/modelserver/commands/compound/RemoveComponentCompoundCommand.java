@@ -13,40 +13,14 @@ package com.eclipsesource.uml.modelserver.commands.compound;
 import org.eclipse.emf.common.command.CompoundCommand;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.edit.domain.EditingDomain;
-import org.eclipse.uml2.uml.Component;
-import org.eclipse.uml2.uml.Model;
-import org.eclipse.uml2.uml.PackageableElement;
-import org.eclipse.uml2.uml.UseCase;
 
-import com.eclipsesource.uml.modelserver.commands.notation.RemoveComponentShapeCommand;
-import com.eclipsesource.uml.modelserver.commands.semantic.RemoveCommentEdgeCommand;
-import com.eclipsesource.uml.modelserver.commands.semantic.RemoveComponentCommand;
-import com.eclipsesource.uml.modelserver.commands.util.UmlCommentEdgeRemoveUtil;
-import com.eclipsesource.uml.modelserver.commands.util.UmlNotationCommandUtil;
-import com.eclipsesource.uml.modelserver.commands.util.UmlSemanticCommandUtil;
+import com.eclipsesource.uml.modelserver.commands.util.UmlDeletePlanner;
 
 public class RemoveComponentCompoundCommand extends CompoundCommand {
 
    public RemoveComponentCompoundCommand(final EditingDomain domain, final URI modelUri,
       final String semanticUriFragment) {
-
-      Model umlModel = UmlSemanticCommandUtil.getModel(modelUri, domain);
-      Component componentToRemove = UmlSemanticCommandUtil.getElement(umlModel, semanticUriFragment, Component.class);
-
-      for (RemoveCommentEdgeCommand c : UmlCommentEdgeRemoveUtil.removeIncomingCommentEdge(modelUri, domain,
-         semanticUriFragment)) {
-         this.append(c);
-      }
-
-      for (PackageableElement elem : componentToRemove.getPackagedElements()) {
-         if (elem instanceof UseCase) {
-            String uri = UmlNotationCommandUtil.getSemanticProxyUri(elem);
-            this.append(new RemoveUsecaseCompoundCommand(domain, modelUri, uri));
-         }
-      }
-
-      this.append(new RemoveComponentCommand(domain, modelUri, semanticUriFragment));
-      this.append(new RemoveComponentShapeCommand(domain, modelUri, semanticUriFragment));
-
+      new UmlDeletePlanner(domain, modelUri).remove(semanticUriFragment).appendTo(this);
    }
+
 }
@@ -57,7 +57,7 @@ public class AddActorCommandContribution extends UmlCompoundCommandContribution
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       GPoint actorPosition = UmlNotationCommandUtil.getGPoint(
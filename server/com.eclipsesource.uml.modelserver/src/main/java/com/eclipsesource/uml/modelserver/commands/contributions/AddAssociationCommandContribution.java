@@ -35,7 +35,7 @@ public class AddAssociationCommandContribution extends UmlCompoundCommandContrib
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String sourceClassUriFragment = command.getProperties().get(SOURCE_CLASS_URI_FRAGMENT);
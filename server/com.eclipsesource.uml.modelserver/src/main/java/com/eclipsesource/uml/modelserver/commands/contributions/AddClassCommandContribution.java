@@ -35,7 +35,7 @@ public class AddClassCommandContribution extends UmlCompoundCommandContribution
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       GPoint classPosition = UmlNotationCommandUtil.getGPoint(
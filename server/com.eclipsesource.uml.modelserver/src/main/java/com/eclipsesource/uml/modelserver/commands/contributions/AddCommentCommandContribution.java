@@ -51,7 +51,7 @@ public class AddCommentCommandContribution extends UmlCompoundCommandContributio
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       GPoint commentPosition = UmlNotationCommandUtil.getGPoint(
@@ -35,7 +35,7 @@ public class AddCommentEdgeCommandContribution extends UmlCompoundCommandContrib
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String sourceCommentUriFragment = command.getProperties().get(SOURCE_COMMENT_URI_FRAGMENT);
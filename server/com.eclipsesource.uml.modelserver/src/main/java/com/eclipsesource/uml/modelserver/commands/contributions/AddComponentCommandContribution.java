@@ -49,7 +49,7 @@ public class AddComponentCommandContribution extends UmlCompoundCommandContribut
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       GPoint componentPosition = UmlNotationCommandUtil.getGPoint(
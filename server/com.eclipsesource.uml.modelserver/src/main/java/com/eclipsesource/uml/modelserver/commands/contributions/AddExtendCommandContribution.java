@@ -35,7 +35,7 @@ public class AddExtendCommandContribution extends UmlCompoundCommandContribution
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String extendingUsecaseUri = command.getProperties().get(EXTENDING_USECASE_URI_FRAGMENT);
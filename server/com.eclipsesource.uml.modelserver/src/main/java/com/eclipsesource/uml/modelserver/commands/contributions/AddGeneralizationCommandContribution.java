@@ -35,7 +35,7 @@ public class AddGeneralizationCommandContribution extends UmlCompoundCommandCont
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String generalClassifierUri = command.getProperties().get(GENERAL_CLASSIFIER_URI_FRAGMENT);
@@ -35,7 +35,7 @@ public class AddIncludeCommandContribution extends UmlCompoundCommandContributio
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String includingUsecaseUri = command.getProperties().get(INCLUDING_USECASE_URI_FRAGMENT);
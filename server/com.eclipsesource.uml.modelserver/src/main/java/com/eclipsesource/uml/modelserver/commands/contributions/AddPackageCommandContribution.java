@@ -35,7 +35,7 @@ public class AddPackageCommandContribution extends UmlCompoundCommandContributio
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       GPoint packagePosition = UmlNotationCommandUtil.getGPoint(
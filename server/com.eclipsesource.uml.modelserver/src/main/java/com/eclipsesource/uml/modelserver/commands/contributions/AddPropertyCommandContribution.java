@@ -31,7 +31,7 @@ public class AddPropertyCommandContribution extends UmlSemanticCommandContributi
    }
 
    @Override
-   protected Command toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected Command createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String parentSemanticUriFragment = command.getProperties().get(PARENT_SEMANTIC_URI_FRAGMENT);
@@ -66,7 +66,7 @@ public class AddUsecaseCommandContribution extends UmlCompoundCommandContributio
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       if (command.getProperties().containsKey(PARENT_SEMANTIC_URI_FRAGMENT)) {
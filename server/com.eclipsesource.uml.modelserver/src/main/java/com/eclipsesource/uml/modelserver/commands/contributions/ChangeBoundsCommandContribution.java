@@ -39,7 +39,7 @@ public class ChangeBoundsCommandContribution extends UmlNotationCommandContribut
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       CompoundCommand changeBoundsCommand = new CompoundCommand();
@@ -46,7 +46,7 @@ public class ChangeRoutingPointsCommandContribution extends UmlNotationCommandCo
    }
 
    @Override
-   protected Command toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected Command createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       CompoundCommand compoundCommand = new CompoundCommand();
@@ -0,0 +1,146 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.commands.contributions;
+
+import java.util.Optional;
+
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.command.CompoundCommand;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emfcloud.modelserver.command.CCommand;
+
+import com.eclipsesource.uml.modelserver.metrics.CommandExecutionEvent;
+import com.eclipsesource.uml.modelserver.metrics.UmlCorrelation;
+import com.eclipsesource.uml.modelserver.metrics.UmlMetrics;
+
+/**
+ * Wraps the command a contribution created for a client command and records the time of its execution, undo and
+ * redo on the command stack of the model server, tagged with the type of the client command and the model URI. The
+ * execution is logged with the correlation ID of the client command, see {@link UmlCorrelation}, and recorded as
+ * {@link CommandExecutionEvent}.
+ */
+public class InstrumentedCommand extends CompoundCommand {
+
+   public static final String EXECUTE = "execute";
+   public static final String UNDO = "undo";
+   public static final String REDO = "redo";
+
+   // end of the last execution on the current thread, to measure the notifications sent after a command
+   private static final ThreadLocal<Completion> LAST_COMPLETION = new ThreadLocal<>();
+
+   private final String type;
+   private final String modelUri;
+   private final String correlationId;
+
+   public InstrumentedCommand(final CCommand clientCommand, final URI modelUri, final Command command) {
+      super(command.getLabel(), command.getDescription());
+      this.type = clientCommand.getType();
+      this.modelUri = String.valueOf(modelUri);
+      this.correlationId = UmlCorrelation.get(clientCommand).orElse(null);
+      append(command);
+   }
+
+   /**
+    * Records the time since the given start of the decoding and wraps the decoded command.
+    */
+   public static InstrumentedCommand decoded(final CCommand clientCommand, final URI modelUri,
+      final Command command, final long decodeStart) {
+      UmlMetrics.timer(UmlMetrics.COMMAND_DECODE, UmlMetrics.TAG_TYPE, clientCommand.getType(),
+         UmlMetrics.TAG_MODEL, String.valueOf(modelUri)).recordSince(decodeStart);
+      return command == null ? null : new InstrumentedCommand(clientCommand, modelUri, command);
+   }
+
+   @Override
+   public void execute() {
+      CommandExecutionEvent event = new CommandExecutionEvent();
+      event.begin();
+      long start = System.nanoTime();
+      try {
+         super.execute();
+      } finally {
+         record(EXECUTE, start, event);
+         UmlCorrelation.log(correlationId, UmlCorrelation.EXECUTE, modelUri, type, start);
+      }
+   }
+
+   @Override
+   public void undo() {
+      CommandExecutionEvent event = new CommandExecutionEvent();
+      event.begin();
+      long start = System.nanoTime();
+      try {
+         super.undo();
+      } finally {
+         record(UNDO, start, event);
+      }
+   }
+
+   @Override
+   public void redo() {
+      CommandExecutionEvent event = new CommandExecutionEvent();
+      event.begin();
+      long start = System.nanoTime();
+      try {
+         super.redo();
+      } finally {
+         record(REDO, start, event);
+      }
+   }
+
+   /**
+    * Returns and clears the {@link System#nanoTime()} at which the last command executed, undone or redone on the
+    * current thread completed.
+    */
+   public static Optional<Completion> takeLastCompletion() {
+      Optional<Completion> completion = Optional.ofNullable(LAST_COMPLETION.get());
+      LAST_COMPLETION.remove();
+      return completion;
+   }
+
+   protected void record(final String phase, final long start, final CommandExecutionEvent event) {
+      LAST_COMPLETION.set(new Completion(System.nanoTime(), correlationId));
+      UmlMetrics.timer(UmlMetrics.COMMAND, UmlMetrics.TAG_TYPE, type, UmlMetrics.TAG_MODEL, modelUri,
+         UmlMetrics.TAG_PHASE, phase).recordSince(start);
+      event.end();
+      if (event.shouldCommit()) {
+         event.setModelUri(modelUri);
+         event.setType(type);
+         event.setPhase(phase);
+         event.setCorrelationId(correlationId);
+         event.setElements(getAffectedObjects().size());
+         event.commit();
+      }
+   }
+
+   public String getType() { return type; }
+
+   public String getModelUri() { return modelUri; }
+
+   public String getCorrelationId() { return correlationId; }
+
+   /**
+    * The time at which a command completed and the correlation ID of its client command.
+    */
+   public static class Completion {
+      private final long nanoTime;
+      private final String correlationId;
+
+      Completion(final long nanoTime, final String correlationId) {
+         this.nanoTime = nanoTime;
+         this.correlationId = correlationId;
+      }
+
+      public long getNanoTime() { return nanoTime; }
+
+      public String getCorrelationId() { return correlationId; }
+   }
+
+}
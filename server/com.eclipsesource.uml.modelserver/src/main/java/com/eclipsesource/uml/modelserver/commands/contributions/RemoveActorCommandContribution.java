@@ -32,7 +32,7 @@ public class RemoveActorCommandContribution extends UmlCompoundCommandContributi
    }
 
    @Override
-   protected CompoundCommand toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String semanticUriFragment = command.getProperties().get(SEMANTIC_URI_FRAGMENT);
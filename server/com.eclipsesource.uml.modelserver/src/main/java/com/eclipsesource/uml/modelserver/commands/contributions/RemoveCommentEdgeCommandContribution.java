@@ -32,7 +32,7 @@ public class RemoveCommentEdgeCommandContribution extends UmlSemanticCommandCont
    }
 
    @Override
-   protected Command toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected Command createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String commentSemanticUriFragment = command.getProperties().get(SEMANTIC_URI_FRAGMENT);
@@ -0,0 +1,79 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.commands.contributions;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.command.CompoundCommand;
+import org.eclipse.emf.common.command.UnexecutableCommand;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.edit.domain.EditingDomain;
+import org.eclipse.emfcloud.modelserver.command.CCommand;
+import org.eclipse.emfcloud.modelserver.command.CCommandFactory;
+import org.eclipse.emfcloud.modelserver.command.CCompoundCommand;
+import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
+
+import com.eclipsesource.uml.modelserver.commands.util.UmlDeletePlanner;
+
+/**
+ * Removes several elements with a single command. The removed elements are collected by one
+ * {@link UmlDeletePlanner}, so elements that are removed together with one of their containers or by the cascade
+ * of another element are only removed once.
+ */
+public class RemoveElementsCommandContribution extends UmlCompoundCommandContribution {
+
+   public static final String TYPE = "removeElements";
+
+   protected static final Set<String> REMOVE_ELEMENT_TYPES = Set.of(RemoveActorCommandContribution.TYPE,
+      RemoveAssociationCommandContribution.TYPE, RemoveClassCommandContribution.TYPE,
+      RemoveCommentCommandContribution.TYPE, RemoveComponentCommandContribution.TYPE,
+      RemoveExtendCommandContribution.TYPE, RemoveExtensionPointCommandContribution.TYPE,
+      RemoveGeneralizationCommandContribution.TYPE, RemoveIncludeCommandContribution.TYPE,
+      RemovePackageCommandContribution.TYPE, RemovePropertyCommandContribution.TYPE,
+      RemoveUsecaseCommandContribution.TYPE);
+
+   public static CCompoundCommand create(final List<CCommand> removeCommands) {
+      CCompoundCommand removeElementsCommand = CCommandFactory.eINSTANCE.createCompoundCommand();
+      removeElementsCommand.setType(TYPE);
+      removeElementsCommand.getCommands().addAll(removeCommands);
+      return removeElementsCommand;
+   }
+
+   @Override
+   protected CompoundCommand createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
+      throws DecodingException {
+
+      CompoundCommand removeElementsCommand = new CompoundCommand();
+      if (!(command instanceof CCompoundCommand)) {
+         return removeElementsCommand;
+      }
+
+      UmlDeletePlanner planner = new UmlDeletePlanner(domain, modelUri);
+      for (CCommand removeCommand : ((CCompoundCommand) command).getCommands()) {
+         String semanticUriFragment = removeCommand.getProperties().get(SEMANTIC_URI_FRAGMENT);
+         if (RemoveCommentEdgeCommandContribution.TYPE.equals(removeCommand.getType())) {
+            planner.removeCommentEdge(semanticUriFragment,
+               removeCommand.getProperties().get(SEMANTIC_URI_FRAGMENT + "_other"));
+         } else if (REMOVE_ELEMENT_TYPES.contains(removeCommand.getType())) {
+            // already removed elements are ignored
+            planner.remove(semanticUriFragment);
+         } else {
+            // unknown remove commands make the whole batch fail instead of removing only a part of it
+            removeElementsCommand.append(UnexecutableCommand.INSTANCE);
+            return removeElementsCommand;
+         }
+      }
+      planner.appendTo(removeElementsCommand);
+      return removeElementsCommand;
+   }
+
+}
@@ -32,7 +32,7 @@ public class RemovePropertyCommandContribution extends UmlSemanticCommandContrib
    }
 
    @Override
-   protected Command toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected Command createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String parentSemanticUri = command.getProperties().get(PARENT_SEMANTIC_URI_FRAGMENT);
@@ -33,7 +33,7 @@ public class SetActorNameCommandContribution extends UmlSemanticCommandContribut
    }
 
    @Override
-   protected Command toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+   protected Command createServerCommand(final URI modelUri, final EditingDomain domain, final CCommand command)
       throws DecodingException {
 
       String semanticUriFragment = command.getProperties().get(SEMANTIC_URI_FRAGMENT);
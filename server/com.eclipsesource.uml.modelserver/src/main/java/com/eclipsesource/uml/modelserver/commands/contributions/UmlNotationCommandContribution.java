@@ -11,6 +11,10 @@
 package com.eclipsesource.uml.modelserver.commands.contributions;
 
 import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.edit.domain.EditingDomain;
+import org.eclipse.emfcloud.modelserver.command.CCommand;
+import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
 import org.eclipse.emfcloud.modelserver.edit.command.BasicCommandContribution;
 
 public abstract class UmlNotationCommandContribution extends BasicCommandContribution<Command> {
@@ -21,4 +25,21 @@ public abstract class UmlNotationCommandContribution extends BasicCommandContrib
    public static final String HEIGHT = "height";
    public static final String WIDTH = "weight";
 
+   /**
+    * Decodes the client command and wraps the result in an {@link InstrumentedCommand} to measure its execution.
+    */
+   @Override
+   protected final Command toServer(final URI modelUri, final EditingDomain domain, final CCommand command)
+      throws DecodingException {
+      long start = System.nanoTime();
+      Command serverCommand = createServerCommand(modelUri, domain, command);
+      return InstrumentedCommand.decoded(command, modelUri, serverCommand, start);
+   }
+
+   /**
+    * Creates the command that is executed on the model server for the given client command.
+    */
+   protected abstract Command createServerCommand(URI modelUri, EditingDomain domain, CCommand command)
+      throws DecodingException;
+
 }
@@ -11,6 +11,7 @@
 package com.eclipsesource.uml.modelserver.commands.semantic;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.edit.domain.EditingDomain;
 import org.eclipse.uml2.uml.Package;
 import org.eclipse.uml2.uml.UMLFactory;
@@ -20,16 +21,38 @@ import com.eclipsesource.uml.modelserver.commands.util.UmlSemanticCommandUtil;
 public class AddPackageCommand extends UmlSemanticElementCommand {
 
    protected final Package newPackage;
+   protected final String parentSemanticUriFragment;
 
    public AddPackageCommand(final EditingDomain domain, final URI modelUri) {
       super(domain, modelUri);
       this.newPackage = UMLFactory.eINSTANCE.createPackage();
+      this.parentSemanticUriFragment = null;
+   }
+
+   /**
+    * For adding Package inside parent package
+    *
+    * @param domain
+    * @param modelUri
+    * @param parentSemanticUri
+    */
+   public AddPackageCommand(final EditingDomain domain, final URI modelUri, final String parentSemanticUri) {
+      super(domain, modelUri);
+      this.newPackage = UMLFactory.eINSTANCE.createPackage();
+      this.parentSemanticUriFragment = parentSemanticUri;
    }
 
    @Override
    protected void doExecute() {
       newPackage.setName(UmlSemanticCommandUtil.getNewPackageName(umlModel));
-      umlModel.getPackagedElements().add(newPackage);
+      if (parentSemanticUriFragment == null) {
+         umlModel.getPackagedElements().add(newPackage);
+      } else {
+         EObject parent = UmlSemanticCommandUtil.getElement(umlModel, parentSemanticUriFragment);
+         if (parent instanceof Package) {
+            ((Package) parent).getPackagedElements().add(newPackage);
+         }
+      }
    }
 
    public Package getNewPackage() { return newPackage; }
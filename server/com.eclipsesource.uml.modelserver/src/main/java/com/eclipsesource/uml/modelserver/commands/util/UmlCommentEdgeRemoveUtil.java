@@ -14,9 +14,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.edit.domain.EditingDomain;
 import org.eclipse.uml2.uml.Comment;
-import org.eclipse.uml2.uml.Element;
 import org.eclipse.uml2.uml.Model;
 
 import com.eclipsesource.uml.modelserver.commands.semantic.RemoveCommentEdgeCommand;
@@ -29,14 +29,13 @@ public final class UmlCommentEdgeRemoveUtil {
       final String semanticUri) {
       List<RemoveCommentEdgeCommand> res = new ArrayList<>();
       Model umlModel = UmlSemanticCommandUtil.getModel(modelUri, domain);
-      for (Comment c : umlModel.getOwnedComments()) {
-         for (Element e : c.getAnnotatedElements()) {
-            if (UmlSemanticCommandUtil.getSemanticUriFragment(e).equals(semanticUri)) {
-               res.add(
-                  new RemoveCommentEdgeCommand(domain, modelUri, UmlSemanticCommandUtil.getSemanticUriFragment(c),
-                     UmlSemanticCommandUtil.getSemanticUriFragment(e)));
-            }
-         }
+      EObject element = UmlSemanticCommandUtil.getElement(umlModel, semanticUri);
+      if (element == null) {
+         return res;
+      }
+      for (Comment c : UmlSemanticCommandUtil.getAnnotatingComments(umlModel, element)) {
+         res.add(new RemoveCommentEdgeCommand(domain, modelUri, UmlSemanticCommandUtil.getSemanticUriFragment(c),
+            semanticUri));
       }
       return res;
    }
@@ -0,0 +1,287 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.commands.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.command.CompoundCommand;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.edit.domain.EditingDomain;
+import org.eclipse.uml2.uml.Actor;
+import org.eclipse.uml2.uml.Association;
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Classifier;
+import org.eclipse.uml2.uml.Comment;
+import org.eclipse.uml2.uml.Component;
+import org.eclipse.uml2.uml.Element;
+import org.eclipse.uml2.uml.Extend;
+import org.eclipse.uml2.uml.ExtensionPoint;
+import org.eclipse.uml2.uml.Generalization;
+import org.eclipse.uml2.uml.Include;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Package;
+import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.Relationship;
+import org.eclipse.uml2.uml.UMLPackage;
+import org.eclipse.uml2.uml.UseCase;
+
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveActorShapeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveAssociationEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveClassShapeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveCommentShapeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveComponentShapeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveExtendEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveGeneralizationEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveIncludeEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemovePackageShapeCommand;
+import com.eclipsesource.uml.modelserver.commands.notation.RemoveUsecaseShapeCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveActorCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveAssociationCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveClassCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveCommentCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveCommentEdgeCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveComponentCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveExtendCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveExtensionPointCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveGeneralizationCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveIncludeCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemovePackageCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemovePropertyCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.RemoveUsecaseCommand;
+import com.eclipsesource.uml.modelserver.commands.semantic.SetPropertyTypeCommand;
+import com.eclipsesource.uml.modelserver.unotation.Edge;
+
+/**
+ * Computes the commands to remove a set of elements together with everything that depends on them: nested
+ * elements, relationships, association ends, shapes, edges and comment links.
+ * <p>
+ * The closure of the removed elements is collected once, so every element is visited a single time and every
+ * command is emitted at most once. The commands are ordered as follows:
+ * <ol>
+ * <li>comment links to removed elements of comments that are kept,</li>
+ * <li>type resets of properties that are kept but typed by a removed element,</li>
+ * <li>removed relationships and their edges,</li>
+ * <li>the other removed elements and their shapes.</li>
+ * </ol>
+ * Elements that are contained in another removed element are not removed separately, only their shapes and edges
+ * are.
+ * </p>
+ */
+public class UmlDeletePlanner {
+
+   protected final EditingDomain domain;
+   protected final URI modelUri;
+   protected final Model umlModel;
+
+   // removed elements in the order they were found, containers before their contents
+   protected final Set<EObject> removedElements = new LinkedHashSet<>();
+   protected final Deque<EObject> pendingElements = new ArrayDeque<>();
+   // annotated element fragment by comment fragment, in the order they were found
+   protected final Map<String, Set<String>> removedCommentEdges = new LinkedHashMap<>();
+   protected final Set<Property> typedProperties = new LinkedHashSet<>();
+
+   public UmlDeletePlanner(final EditingDomain domain, final URI modelUri) {
+      this.domain = domain;
+      this.modelUri = modelUri;
+      this.umlModel = UmlSemanticCommandUtil.getModel(modelUri, domain);
+   }
+
+   /**
+    * Adds the element with the given fragment and all elements depending on it. Unknown fragments are ignored.
+    */
+   public UmlDeletePlanner remove(final String semanticUriFragment) {
+      EObject element = UmlSemanticCommandUtil.getElement(umlModel, semanticUriFragment);
+      if (element != null) {
+         remove(element);
+      }
+      return this;
+   }
+
+   public UmlDeletePlanner remove(final EObject element) {
+      add(element);
+      while (!pendingElements.isEmpty()) {
+         collect(pendingElements.poll());
+      }
+      return this;
+   }
+
+   /**
+    * Adds the link between the given comment and annotated element.
+    */
+   public UmlDeletePlanner removeCommentEdge(final String commentSemanticUriFragment,
+      final String otherSemanticUriFragment) {
+      removedCommentEdges.computeIfAbsent(commentSemanticUriFragment, key -> new LinkedHashSet<>())
+         .add(otherSemanticUriFragment);
+      return this;
+   }
+
+   public List<Command> createCommands() {
+      List<Command> commands = new ArrayList<>();
+      removedCommentEdges.forEach((comment, others) -> {
+         if (!isRemovedOrContained(UmlSemanticCommandUtil.getElement(umlModel, comment))) {
+            others.forEach(other -> commands.add(new RemoveCommentEdgeCommand(domain, modelUri, comment, other)));
+         }
+      });
+      for (Property property : typedProperties) {
+         if (!isRemovedOrContained(property)) {
+            commands.add(new SetPropertyTypeCommand(domain, modelUri, fragment(property), null));
+         }
+      }
+      for (EObject element : removedElements) {
+         if (element instanceof Relationship) {
+            addRemoveCommands(commands, element);
+         }
+      }
+      for (EObject element : removedElements) {
+         if (!(element instanceof Relationship)) {
+            addRemoveCommands(commands, element);
+         }
+      }
+      return commands;
+   }
+
+   public void appendTo(final CompoundCommand compoundCommand) {
+      createCommands().forEach(compoundCommand::append);
+   }
+
+   protected void add(final EObject element) {
+      if (element != null && !(element instanceof Model) && removedElements.add(element)) {
+         pendingElements.add(element);
+      }
+   }
+
+   protected void collect(final EObject element) {
+      String fragment = fragment(element);
+      for (Comment comment : UmlSemanticCommandUtil.getAnnotatingComments(umlModel, element)) {
+         removeCommentEdge(fragment(comment), fragment);
+      }
+      if (element instanceof Package) {
+         ((Package) element).getPackagedElements().forEach(this::add);
+      }
+      if (element instanceof Package || element instanceof Component) {
+         ((Element) element).getOwnedComments().forEach(this::add);
+      }
+      if (element instanceof Component) {
+         ((Component) element).getPackagedElements().forEach(this::add);
+      }
+      if (element instanceof UseCase) {
+         ((UseCase) element).getExtends().forEach(this::add);
+         ((UseCase) element).getIncludes().forEach(this::add);
+      }
+      if (element instanceof Classifier && !(element instanceof Association)) {
+         ((Classifier) element).getGeneralizations().forEach(this::add);
+         collectUsages(element);
+      }
+      if (element instanceof ExtensionPoint) {
+         for (Relationship relationship : ((ExtensionPoint) element).getRelationships()) {
+            if (relationship instanceof Extend
+               && ((Extend) relationship).getExtensionLocations().contains(element)
+               && UmlNotationCommandUtil.getNotationElement(modelUri, domain, fragment(relationship),
+                  Edge.class) != null) {
+               add(relationship);
+            }
+         }
+      }
+   }
+
+   protected void collectUsages(final EObject element) {
+      for (Setting setting : UmlSemanticCommandUtil.getUsages(umlModel, element)) {
+         EObject eObject = setting.getEObject();
+         if (eObject instanceof Property && eObject.eContainer() instanceof Association
+            && ((Property) eObject).getAssociation() != null) {
+            add(eObject.eContainer());
+         } else if (eObject instanceof Property && eObject.eContainer() instanceof Class
+            && setting.getEStructuralFeature().equals(UMLPackage.Literals.TYPED_ELEMENT__TYPE)
+            && element.equals(((Property) eObject).getType())) {
+            typedProperties.add((Property) eObject);
+         } else if (eObject instanceof Extend || eObject instanceof Include || eObject instanceof Generalization) {
+            add(eObject);
+         }
+      }
+   }
+
+   protected void addRemoveCommands(final List<Command> commands, final EObject element) {
+      String fragment = fragment(element);
+      boolean removeSemantic = !isContainerRemoved(element);
+      if (element instanceof Actor) {
+         addIf(commands, removeSemantic, new RemoveActorCommand(domain, modelUri, fragment));
+         commands.add(new RemoveActorShapeCommand(domain, modelUri, fragment));
+      } else if (element instanceof UseCase) {
+         addIf(commands, removeSemantic, new RemoveUsecaseCommand(domain, modelUri, fragment));
+         commands.add(new RemoveUsecaseShapeCommand(domain, modelUri, fragment));
+      } else if (element instanceof Association) {
+         addIf(commands, removeSemantic, new RemoveAssociationCommand(domain, modelUri, fragment));
+         commands.add(new RemoveAssociationEdgeCommand(domain, modelUri, fragment));
+      } else if (element instanceof Component) {
+         addIf(commands, removeSemantic, new RemoveComponentCommand(domain, modelUri, fragment));
+         commands.add(new RemoveComponentShapeCommand(domain, modelUri, fragment));
+      } else if (element instanceof Class) {
+         addIf(commands, removeSemantic, new RemoveClassCommand(domain, modelUri, fragment));
+         commands.add(new RemoveClassShapeCommand(domain, modelUri, fragment));
+      } else if (element instanceof Package) {
+         addIf(commands, removeSemantic, new RemovePackageCommand(domain, modelUri, fragment));
+         commands.add(new RemovePackageShapeCommand(domain, modelUri, fragment));
+      } else if (element instanceof Comment) {
+         addIf(commands, removeSemantic, new RemoveCommentCommand(domain, modelUri, fragment));
+         commands.add(new RemoveCommentShapeCommand(domain, modelUri, fragment));
+      } else if (element instanceof Extend) {
+         addIf(commands, removeSemantic, new RemoveExtendCommand(domain, modelUri, fragment));
+         commands.add(new RemoveExtendEdgeCommand(domain, modelUri, fragment));
+      } else if (element instanceof Include) {
+         addIf(commands, removeSemantic, new RemoveIncludeCommand(domain, modelUri, fragment));
+         commands.add(new RemoveIncludeEdgeCommand(domain, modelUri, fragment));
+      } else if (element instanceof Generalization) {
+         addIf(commands, removeSemantic, new RemoveGeneralizationCommand(domain, modelUri, fragment));
+         commands.add(new RemoveGeneralizationEdgeCommand(domain, modelUri, fragment));
+      } else if (element instanceof ExtensionPoint) {
+         addIf(commands, removeSemantic, new RemoveExtensionPointCommand(domain, modelUri, fragment));
+      } else if (element instanceof Property && element.eContainer() instanceof Class) {
+         addIf(commands, removeSemantic,
+            new RemovePropertyCommand(domain, modelUri, fragment(element.eContainer()), fragment));
+      }
+   }
+
+   protected boolean isRemovedOrContained(final EObject element) {
+      return element == null || removedElements.contains(element) || isContainerRemoved(element);
+   }
+
+   protected boolean isContainerRemoved(final EObject element) {
+      EObject container = element.eContainer();
+      while (container != null && !(container instanceof Model)) {
+         if (removedElements.contains(container)) {
+            return true;
+         }
+         container = container.eContainer();
+      }
+      return false;
+   }
+
+   protected static void addIf(final List<Command> commands, final boolean condition, final Command command) {
+      if (condition) {
+         commands.add(command);
+      }
+   }
+
+   protected static String fragment(final EObject element) {
+      return UmlSemanticCommandUtil.getSemanticUriFragment((Element) element);
+   }
+
+}
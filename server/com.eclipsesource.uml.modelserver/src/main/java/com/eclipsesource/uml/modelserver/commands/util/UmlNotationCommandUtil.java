@@ -10,8 +10,6 @@
  ********************************************************************************/
 package com.eclipsesource.uml.modelserver.commands.util;
 
-import java.util.Optional;
-
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -22,6 +20,7 @@ import org.eclipse.glsp.graph.GPoint;
 import org.eclipse.glsp.graph.util.GraphUtil;
 import org.eclipse.uml2.uml.Element;
 
+import com.eclipsesource.uml.modelserver.UmlNotationIndexAdapter;
 import com.eclipsesource.uml.modelserver.UmlNotationUtil;
 import com.eclipsesource.uml.modelserver.unotation.Diagram;
 import com.eclipsesource.uml.modelserver.unotation.NotationElement;
@@ -44,9 +43,13 @@ public final class UmlNotationCommandUtil {
       return gDimension;
    }
 
-   public static Diagram getDiagram(final URI modelUri, final EditingDomain domain) {
-      Resource notationResource = domain.getResourceSet()
+   public static Resource getNotationResource(final URI modelUri, final EditingDomain domain) {
+      return domain.getResourceSet()
          .getResource(modelUri.trimFileExtension().appendFileExtension(UmlNotationUtil.NOTATION_EXTENSION), false);
+   }
+
+   public static Diagram getDiagram(final URI modelUri, final EditingDomain domain) {
+      Resource notationResource = getNotationResource(modelUri, domain);
       EObject notationRoot = notationResource.getContents().get(0);
       if (!(notationRoot instanceof Diagram)) {}
       return (Diagram) notationRoot;
@@ -58,9 +61,8 @@ public final class UmlNotationCommandUtil {
 
    public static NotationElement getNotationElement(final URI modelUri, final EditingDomain domain,
       final String semanticUri) {
-      Optional<NotationElement> notationElement = getDiagram(modelUri, domain).getElements().stream()
-         .filter(el -> el.getSemanticElement().getUri().equals(semanticUri)).findFirst();
-      return notationElement.orElse(null);
+      return UmlNotationIndexAdapter.getOrCreate(getNotationResource(modelUri, domain))
+         .getNotationElement(semanticUri);
    }
 
    public static <C extends NotationElement> C getNotationElement(final URI modelUri, final EditingDomain domain,
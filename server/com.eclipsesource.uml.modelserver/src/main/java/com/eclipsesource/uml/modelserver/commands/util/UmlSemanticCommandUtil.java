@@ -10,33 +10,38 @@
  ********************************************************************************/
 package com.eclipsesource.uml.modelserver.commands.util;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.eclipse.emf.common.notify.Notifier;
-import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.EcoreUtil.UsageCrossReferencer;
 import org.eclipse.emf.edit.domain.EditingDomain;
 import org.eclipse.uml2.uml.Actor;
 import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Comment;
 import org.eclipse.uml2.uml.Component;
-import org.eclipse.uml2.uml.DataType;
 import org.eclipse.uml2.uml.Element;
 import org.eclipse.uml2.uml.Model;
-import org.eclipse.uml2.uml.NamedElement;
 import org.eclipse.uml2.uml.Package;
 import org.eclipse.uml2.uml.PackageableElement;
 import org.eclipse.uml2.uml.Property;
 import org.eclipse.uml2.uml.StructuralFeature;
 import org.eclipse.uml2.uml.Type;
+import org.eclipse.uml2.uml.UMLPackage;
 import org.eclipse.uml2.uml.UseCase;
 import org.eclipse.uml2.uml.resource.UMLResource;
 
+import com.eclipsesource.uml.modelserver.UmlCrossReferenceAdapter;
+import com.eclipsesource.uml.modelserver.UmlTypeRegistryAdapter;
+
 public final class UmlSemanticCommandUtil {
 
    private UmlSemanticCommandUtil() {}
@@ -55,6 +60,29 @@ public final class UmlSemanticCommandUtil {
       return clazz.cast(element);
    }
 
+   /**
+    * Returns the references to the given element within the model resource.
+    */
+   public static Collection<Setting> getUsages(final Model umlModel, final EObject element) {
+      Resource semanticResource = umlModel.eResource();
+      if (semanticResource.getResourceSet() == null) {
+         return UsageCrossReferencer.find(element, semanticResource);
+      }
+      return UmlCrossReferenceAdapter.getOrCreate(semanticResource.getResourceSet()).getUsages(element,
+         semanticResource);
+   }
+
+   /**
+    * Returns the comments within the model resource that annotate the given element.
+    */
+   public static List<Comment> getAnnotatingComments(final Model umlModel, final EObject element) {
+      return getUsages(umlModel, element).stream()
+         .filter(setting -> setting.getEStructuralFeature() == UMLPackage.Literals.COMMENT__ANNOTATED_ELEMENT)
+         .map(setting -> (Comment) setting.getEObject())
+         .distinct()
+         .collect(Collectors.toList());
+   }
+
    public static Model getModel(final URI modelUri, final EditingDomain domain) {
       Resource semanticResource = domain.getResourceSet()
          .getResource(modelUri.trimFileExtension().appendFileExtension(UMLResource.FILE_EXTENSION), false);
@@ -64,16 +92,7 @@ public final class UmlSemanticCommandUtil {
    }
 
    public static Type getType(final EditingDomain domain, final String typeName) {
-      TreeIterator<Notifier> resourceSetContent = domain.getResourceSet().getAllContents();
-      while (resourceSetContent.hasNext()) {
-         Notifier res = resourceSetContent.next();
-         if (res instanceof DataType || res instanceof org.eclipse.uml2.uml.Class) {
-            if (res instanceof NamedElement && ((NamedElement) res).getName().equals(typeName)) {
-               return (Type) res;
-            }
-         }
-      }
-      return null;
+      return UmlTypeRegistryAdapter.getOrCreate(domain.getResourceSet()).getType(typeName);
    }
 
    public static String getNewAssociationEndName(final Class typeClass) {
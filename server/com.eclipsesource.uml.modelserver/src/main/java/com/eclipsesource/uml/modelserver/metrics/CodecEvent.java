@@ -0,0 +1,35 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.eclipsesource.uml.Codec")
+@Label("Codec")
+@Description("XMI encoding or decoding of a model by the UmlCodec")
+public class CodecEvent extends UmlEvent {
+
+   public static final String ENCODE = "encode";
+   public static final String DECODE = "decode";
+
+   @Label("Operation")
+   protected String operation;
+
+   @Label("Characters")
+   protected long characters;
+
+   public void setOperation(final String operation) { this.operation = operation; }
+
+   public void setCharacters(final long characters) { this.characters = characters; }
+
+}
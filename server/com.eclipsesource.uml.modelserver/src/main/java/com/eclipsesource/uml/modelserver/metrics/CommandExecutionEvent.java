@@ -0,0 +1,37 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.eclipsesource.uml.CommandExecution")
+@Label("Command Execution")
+@Description("Execution, undo or redo of a command on the model server")
+public class CommandExecutionEvent extends UmlEvent {
+
+   @Label("Command Type")
+   protected String type;
+
+   @Label("Phase")
+   protected String phase;
+
+   @Label("Correlation ID")
+   protected String correlationId;
+
+   public void setType(final String type) { this.type = type; }
+
+   public void setPhase(final String phase) { this.phase = phase; }
+
+   public void setCorrelationId(final String correlationId) { this.correlationId = correlationId; }
+
+}
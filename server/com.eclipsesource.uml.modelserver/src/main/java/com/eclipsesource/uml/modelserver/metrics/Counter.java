@@ -0,0 +1,26 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+/**
+ * Counts events, e.g. failed requests.
+ */
+public interface Counter {
+
+   Counter NOOP = amount -> {};
+
+   void increment(long amount);
+
+   default void increment() {
+      increment(1);
+   }
+
+}
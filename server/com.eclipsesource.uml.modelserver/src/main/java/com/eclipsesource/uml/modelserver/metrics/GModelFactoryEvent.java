@@ -0,0 +1,27 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.eclipsesource.uml.GModelFactory")
+@Label("GModel Factory")
+@Description("Creation of the GModel from the semantic and notation model")
+public class GModelFactoryEvent extends UmlEvent {
+
+   @Label("Factory")
+   protected String factory;
+
+   public void setFactory(final String factory) { this.factory = factory; }
+
+}
@@ -0,0 +1,99 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with the bucket layout of an HdrHistogram: values up to {@value #SUB_BUCKET_COUNT}
+ * nanoseconds are counted exactly, larger values in {@value #HALF_SUB_BUCKET_COUNT} linear sub-buckets per power of
+ * two. This keeps the relative error of the percentiles below 2% with a fixed memory footprint of a few kilobytes,
+ * independent of the number of recorded values.
+ * <p>
+ * Values above one hour are counted in the highest bucket.
+ * </p>
+ */
+public class LatencyHistogram {
+
+   private static final int SUB_BUCKET_BITS = 7;
+   private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+   private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+   private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+
+   private final AtomicLongArray counts = new AtomicLongArray(bucketIndex(HIGHEST_TRACKABLE_VALUE) + 1);
+   private final LongAdder count = new LongAdder();
+   private final LongAdder total = new LongAdder();
+   private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+   public void record(final long nanos) {
+      long value = Math.max(0, nanos);
+      counts.incrementAndGet(bucketIndex(Math.min(value, HIGHEST_TRACKABLE_VALUE)));
+      count.increment();
+      total.add(value);
+      max.accumulate(value);
+   }
+
+   public long getCount() { return count.sum(); }
+
+   public long getTotalNanos() { return total.sum(); }
+
+   public long getMaxNanos() { return max.get(); }
+
+   public double getMeanNanos() {
+      long recorded = getCount();
+      return recorded == 0 ? 0 : getTotalNanos() / (double) recorded;
+   }
+
+   /**
+    * Returns the highest value that is equivalent to the value at the given percentile, e.g. 0.99.
+    */
+   public long getValueAtPercentile(final double percentile) {
+      long recorded = 0;
+      for (int i = 0; i < counts.length(); i++) {
+         recorded += counts.get(i);
+      }
+      if (recorded == 0) {
+         return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile * recorded));
+      long cumulative = 0;
+      for (int i = 0; i < counts.length(); i++) {
+         cumulative += counts.get(i);
+         if (cumulative >= rank) {
+            return Math.min(highestEquivalentValue(i), getMaxNanos());
+         }
+      }
+      return getMaxNanos();
+   }
+
+   protected static int bucketIndex(final long value) {
+      if (value < SUB_BUCKET_COUNT) {
+         return (int) value;
+      }
+      // shift the value so that its highest bits fall into the upper half of the sub-buckets
+      int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+      return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT
+         + (int) ((value >>> shift) - HALF_SUB_BUCKET_COUNT);
+   }
+
+   protected static long highestEquivalentValue(final int index) {
+      if (index < SUB_BUCKET_COUNT) {
+         return index;
+      }
+      int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+      long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+      return ((subBucket + 1) << shift) - 1;
+   }
+
+}
@@ -0,0 +1,43 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+/**
+ * Registry of the timers and counters of the model server and the GLSP server, modeled after the Micrometer
+ * MeterRegistry so that an adapter to Micrometer or any other metrics library only has to delegate.
+ * <p>
+ * Meters are identified by their name and tags. The tags are given as alternating keys and values, e.g.
+ * {@code timer("uml.glsp.operation", "operation", "CreateNodeOperation", "model", uri)}. Registries return the same
+ * meter for the same name and tags.
+ * </p>
+ */
+public interface MetricsRegistry {
+
+   /**
+    * Registry that does not record anything.
+    */
+   MetricsRegistry NOOP = new MetricsRegistry() {
+      @Override
+      public Timer timer(final String name, final String... tags) {
+         return Timer.NOOP;
+      }
+
+      @Override
+      public Counter counter(final String name, final String... tags) {
+         return Counter.NOOP;
+      }
+   };
+
+   Timer timer(String name, String... tags);
+
+   Counter counter(String name, String... tags);
+
+}
@@ -0,0 +1,27 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.eclipsesource.uml.ResourceSave")
+@Label("Resource Save")
+@Description("Saving of a model resource on the model server")
+public class ResourceSaveEvent extends UmlEvent {
+
+   @Label("Resource URI")
+   protected String resourceUri;
+
+   public void setResourceUri(final String resourceUri) { this.resourceUri = resourceUri; }
+
+}
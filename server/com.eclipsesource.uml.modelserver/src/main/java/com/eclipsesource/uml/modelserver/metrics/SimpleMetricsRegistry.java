@@ -0,0 +1,136 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory registry that keeps a {@link LatencyHistogram} per timer. This is the default registry, its meters can be
+ * read with {@link #getTimers()} and {@link #getCounters()}, e.g. to export them.
+ */
+public class SimpleMetricsRegistry implements MetricsRegistry {
+
+   private final Map<MeterId, HistogramTimer> timers = new ConcurrentHashMap<>();
+   private final Map<MeterId, SimpleCounter> counters = new ConcurrentHashMap<>();
+
+   @Override
+   public Timer timer(final String name, final String... tags) {
+      return timers.computeIfAbsent(new MeterId(name, tags), HistogramTimer::new);
+   }
+
+   @Override
+   public Counter counter(final String name, final String... tags) {
+      return counters.computeIfAbsent(new MeterId(name, tags), SimpleCounter::new);
+   }
+
+   public Map<MeterId, HistogramTimer> getTimers() { return Collections.unmodifiableMap(timers); }
+
+   public Map<MeterId, SimpleCounter> getCounters() { return Collections.unmodifiableMap(counters); }
+
+   public void clear() {
+      timers.clear();
+      counters.clear();
+   }
+
+   /**
+    * Name and tags of a meter.
+    */
+   public static final class MeterId {
+      private final String name;
+      private final String[] tags;
+
+      public MeterId(final String name, final String... tags) {
+         if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags of " + name + " must be key value pairs: " + Arrays.toString(tags));
+         }
+         this.name = name;
+         this.tags = tags.clone();
+         for (int i = 1; i < this.tags.length; i += 2) {
+            this.tags[i] = String.valueOf(this.tags[i]);
+         }
+      }
+
+      public String getName() { return name; }
+
+      public Map<String, String> getTags() {
+         Map<String, String> result = new LinkedHashMap<>();
+         for (int i = 0; i < tags.length; i += 2) {
+            result.put(tags[i], tags[i + 1]);
+         }
+         return result;
+      }
+
+      @Override
+      public boolean equals(final Object obj) {
+         if (this == obj) {
+            return true;
+         }
+         if (!(obj instanceof MeterId)) {
+            return false;
+         }
+         MeterId other = (MeterId) obj;
+         return name.equals(other.name) && Arrays.equals(tags, other.tags);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * name.hashCode() + Arrays.hashCode(tags);
+      }
+
+      @Override
+      public String toString() {
+         return name + getTags();
+      }
+   }
+
+   public static class HistogramTimer implements Timer {
+      private final MeterId id;
+      private final LatencyHistogram histogram = new LatencyHistogram();
+
+      public HistogramTimer(final MeterId id) {
+         this.id = id;
+      }
+
+      @Override
+      public void record(final long duration, final TimeUnit unit) {
+         histogram.record(unit.toNanos(duration));
+      }
+
+      public MeterId getId() { return id; }
+
+      public LatencyHistogram getHistogram() { return histogram; }
+   }
+
+   public static class SimpleCounter implements Counter {
+      private final MeterId id;
+      private final LongAdder count = new LongAdder();
+
+      public SimpleCounter(final MeterId id) {
+         this.id = id;
+      }
+
+      @Override
+      public void increment(final long amount) {
+         count.add(amount);
+      }
+
+      public MeterId getId() { return id; }
+
+      public long getCount() { return count.sum(); }
+   }
+
+}
@@ -0,0 +1,50 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records the latencies of an operation.
+ */
+public interface Timer {
+
+   Timer NOOP = (duration, unit) -> {};
+
+   void record(long duration, TimeUnit unit);
+
+   /**
+    * Records the time passed since the given {@link System#nanoTime()}.
+    */
+   default void recordSince(final long startNanos) {
+      record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+   }
+
+   default void record(final Runnable operation) {
+      long start = System.nanoTime();
+      try {
+         operation.run();
+      } finally {
+         recordSince(start);
+      }
+   }
+
+   default <T> T record(final Supplier<T> operation) {
+      long start = System.nanoTime();
+      try {
+         return operation.get();
+      } finally {
+         recordSince(start);
+      }
+   }
+
+}
@@ -0,0 +1,81 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emfcloud.modelserver.command.CCommand;
+
+/**
+ * Correlation IDs that connect the stages of a user action across the GLSP server and the model server.
+ * <p>
+ * The GLSP server stamps an ID into the properties of every command it sends. The model server logs it when the
+ * command is executed and the notifications are sent, and the GLSP server logs it again when the notification is
+ * received, the model is refreshed and submitted to the client. The stages are logged on debug level with the logger
+ * {@code UmlCorrelation}, so the timeline of an action is off by default, enabled independently of the other logging
+ * and found by searching for its ID.
+ * </p>
+ */
+public final class UmlCorrelation {
+
+   private static Logger LOGGER = Logger.getLogger(UmlCorrelation.class.getSimpleName());
+
+   public static final String PROPERTY = "correlationId";
+
+   public static final String SEND = "send";
+   public static final String EXECUTE = "execute";
+   public static final String NOTIFY = "notify";
+   public static final String RECEIVE = "receive";
+   public static final String REFRESH = "refresh";
+   public static final String SUBMIT = "submit";
+
+   private UmlCorrelation() {}
+
+   /**
+    * Stamps a new correlation ID into the command unless it already has one.
+    *
+    * @return the correlation ID of the command
+    */
+   public static String stamp(final CCommand command) {
+      String correlationId = command.getProperties().get(PROPERTY);
+      if (correlationId == null) {
+         correlationId = UUID.randomUUID().toString();
+         command.getProperties().put(PROPERTY, correlationId);
+      }
+      return correlationId;
+   }
+
+   public static Optional<String> get(final CCommand command) {
+      return command == null ? Optional.empty() : Optional.ofNullable(command.getProperties().get(PROPERTY));
+   }
+
+   public static void log(final String correlationId, final String stage, final String modelUri,
+      final String detail) {
+      if (correlationId != null && LOGGER.isDebugEnabled()) {
+         LOGGER.debug(String.format("[%s] %s %s %s", correlationId, stage, modelUri, detail));
+      }
+   }
+
+   /**
+    * Logs the stage with the time passed since the given {@link System#nanoTime()}.
+    */
+   public static void log(final String correlationId, final String stage, final String modelUri,
+      final String detail, final long startNanos) {
+      if (correlationId != null && LOGGER.isDebugEnabled()) {
+         LOGGER.debug(String.format("[%s] %s %s %s in %.1f ms", correlationId, stage, modelUri, detail,
+            (System.nanoTime() - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+      }
+   }
+
+}
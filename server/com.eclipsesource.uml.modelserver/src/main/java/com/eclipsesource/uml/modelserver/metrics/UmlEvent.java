@@ -0,0 +1,37 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the Java Flight Recorder events of the diagram pipeline, every event carries the model and the number of
+ * elements it processed.
+ * <p>
+ * The element count may be expensive to compute, so it should only be set if {@link #shouldCommit()} returns true.
+ * </p>
+ */
+@Category("UML")
+public abstract class UmlEvent extends Event {
+
+   @Label("Model URI")
+   protected String modelUri;
+
+   @Label("Elements")
+   protected long elements;
+
+   public void setModelUri(final String modelUri) { this.modelUri = modelUri; }
+
+   public void setElements(final long elements) { this.elements = elements; }
+
+}
@@ -0,0 +1,76 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Optional;
+
+import org.apache.log4j.Logger;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Starts a Java Flight Recorder recording from the launchers of the model server and the GLSP server, which records
+ * the {@link UmlEvent}s together with the JVM events of the {@value #CONFIGURATION} configuration.
+ * <p>
+ * The recording is started with the program argument {@value #JFR_OPTION} followed by the target file, or with the
+ * system property {@value #JFR_PROPERTY}, and is written to the file when the server exits.
+ * </p>
+ */
+public final class UmlFlightRecorder {
+
+   private static Logger LOGGER = Logger.getLogger(UmlFlightRecorder.class.getSimpleName());
+
+   public static final String JFR_OPTION = "--jfr";
+   public static final String JFR_PROPERTY = "uml.jfr";
+   public static final String CONFIGURATION = "profile";
+
+   private UmlFlightRecorder() {}
+
+   /**
+    * Starts a recording if a target file is given in the arguments or the system property.
+    */
+   public static Optional<Recording> start(final String[] args) {
+      Optional<String> file = getFile(args);
+      if (file.isEmpty()) {
+         return Optional.empty();
+      }
+      try {
+         Recording recording = new Recording(Configuration.getConfiguration(CONFIGURATION));
+         recording.setName("uml");
+         recording.setToDisk(true);
+         recording.setDumpOnExit(true);
+         recording.setDestination(Path.of(file.get()));
+         recording.start();
+         LOGGER.info("Flight recording started, it is written to " + file.get() + " on exit");
+         return Optional.of(recording);
+      } catch (IOException | ParseException | RuntimeException e) {
+         LOGGER.error("Could not start the flight recording", e);
+         return Optional.empty();
+      }
+   }
+
+   private static Optional<String> getFile(final String[] args) {
+      for (int i = 0; i < args.length; i++) {
+         if (JFR_OPTION.equals(args[i]) && i + 1 < args.length) {
+            return Optional.of(args[i + 1]);
+         }
+         if (args[i].startsWith(JFR_OPTION + "=")) {
+            return Optional.of(args[i].substring(JFR_OPTION.length() + 1));
+         }
+      }
+      return Optional.ofNullable(System.getProperty(JFR_PROPERTY)).filter(file -> !file.isBlank());
+   }
+
+}
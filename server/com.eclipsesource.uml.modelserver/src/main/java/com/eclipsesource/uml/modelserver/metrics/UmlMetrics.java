@@ -0,0 +1,85 @@
+/********************************************************************************
+ * Copyright (c) 2021 EclipseSource and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package com.eclipsesource.uml.modelserver.metrics;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Access to the metrics registry shared by the model server and the GLSP server, and the names of their meters.
+ * <p>
+ * By default the metrics are recorded in a {@link SimpleMetricsRegistry}. Another registry is plugged in with
+ * {@link #setRegistry(MetricsRegistry)} or by giving its class name, which needs a public no-argument constructor,
+ * in the system property {@value #REGISTRY_PROPERTY}. The value {@code none} disables the metrics.
+ * </p>
+ */
+public final class UmlMetrics {
+
+   private static Logger LOGGER = Logger.getLogger(UmlMetrics.class.getSimpleName());
+
+   public static final String REGISTRY_PROPERTY = "uml.metrics.registry";
+
+   // GLSP server
+   public static final String OPERATION = "uml.glsp.operation";
+   public static final String OPERATION_ERRORS = "uml.glsp.operation.errors";
+   public static final String REFRESH = "uml.glsp.refresh";
+   public static final String GMODEL_CREATE = "uml.glsp.gmodel.create";
+   public static final String COMPUTED_BOUNDS = "uml.glsp.computedBounds";
+   public static final String MODEL_SERVER_REQUEST = "uml.glsp.modelserver.request";
+   public static final String MODEL_SERVER_ERRORS = "uml.glsp.modelserver.errors";
+
+   // model server
+   public static final String COMMAND_DECODE = "uml.modelserver.command.decode";
+   public static final String COMMAND = "uml.modelserver.command";
+   public static final String SAVE = "uml.modelserver.save";
+   public static final String NOTIFICATION = "uml.modelserver.notification";
+
+   // tags
+   public static final String TAG_MODEL = "model";
+   public static final String TAG_OPERATION = "operation";
+   public static final String TAG_TYPE = "type";
+   public static final String TAG_CALL = "call";
+   public static final String TAG_PHASE = "phase";
+
+   private static volatile MetricsRegistry registry = createRegistry();
+
+   private UmlMetrics() {}
+
+   public static MetricsRegistry getRegistry() { return registry; }
+
+   public static void setRegistry(final MetricsRegistry registry) {
+      UmlMetrics.registry = registry == null ? MetricsRegistry.NOOP : registry;
+   }
+
+   public static Timer timer(final String name, final String... tags) {
+      return registry.timer(name, tags);
+   }
+
+   public static Counter counter(final String name, final String... tags) {
+      return registry.counter(name, tags);
+   }
+
+   private static MetricsRegistry createRegistry() {
+      String registryClass = System.getProperty(REGISTRY_PROPERTY);
+      if (registryClass == null || registryClass.isBlank()) {
+         return new SimpleMetricsRegistry();
+      }
+      if ("none".equals(registryClass)) {
+         return MetricsRegistry.NOOP;
+      }
+      try {
+         return (MetricsRegistry) Class.forName(registryClass).getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException | ClassCastException e) {
+         LOGGER.error("Could not create metrics registry " + registryClass + ", using the default registry", e);
+         return new SimpleMetricsRegistry();
+      }
+   }
+
+}